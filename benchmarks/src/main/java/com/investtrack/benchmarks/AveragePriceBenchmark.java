@@ -0,0 +1,78 @@
+package com.investtrack.benchmarks;
+
+import com.investtrack.wallet.money.FixedPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average Price Benchmark - BigDecimal vs scaled-long math used by WalletService.executeBuy
+ *
+ * The fixed-point variants run on longs converted once in setup, as callers hold them.
+ * Equivalence of the two is checked by FixedPointTest in wallet-service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AveragePriceBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final BigDecimal[] heldQuantities = new BigDecimal[SAMPLES];
+    private final BigDecimal[] averagePrices = new BigDecimal[SAMPLES];
+    private final BigDecimal[] buyQuantities = new BigDecimal[SAMPLES];
+    private final BigDecimal[] prices = new BigDecimal[SAMPLES];
+    private final long[] heldUnits = new long[SAMPLES];
+    private final long[] averageCents = new long[SAMPLES];
+    private final long[] buyUnits = new long[SAMPLES];
+    private final long[] priceCents = new long[SAMPLES];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            heldQuantities[i] = BigDecimal.valueOf(random.nextInt(1_000_000), 4).setScale(8);
+            averagePrices[i] = BigDecimal.valueOf(1 + random.nextInt(10_000_000), 2);
+            buyQuantities[i] = BigDecimal.valueOf(1 + random.nextInt(100_000), 4);
+            prices[i] = BigDecimal.valueOf(1 + random.nextInt(10_000_000), 2);
+            heldUnits[i] = FixedPoint.toUnscaled(heldQuantities[i], FixedPoint.QUANTITY_SCALE);
+            averageCents[i] = FixedPoint.toUnscaled(averagePrices[i], FixedPoint.PRICE_SCALE);
+            buyUnits[i] = FixedPoint.toUnscaled(buyQuantities[i], FixedPoint.QUANTITY_SCALE);
+            priceCents[i] = FixedPoint.toUnscaled(prices[i], FixedPoint.PRICE_SCALE);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal newAverageBuyPrice() {
+        int i = index++ & (SAMPLES - 1);
+        BigDecimal totalValue = heldQuantities[i].multiply(averagePrices[i]);
+        BigDecimal newValue = buyQuantities[i].multiply(prices[i]);
+        BigDecimal newQuantity = heldQuantities[i].add(buyQuantities[i]);
+        return totalValue.add(newValue).divide(newQuantity, 2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public long newAverageBuyPriceFixedPoint() {
+        int i = index++ & (SAMPLES - 1);
+        return FixedPoint.averageBuyPrice(heldUnits[i], averageCents[i], buyUnits[i], priceCents[i]);
+    }
+
+    @Benchmark
+    public BigDecimal marketValue() {
+        int i = index++ & (SAMPLES - 1);
+        return heldQuantities[i].multiply(prices[i]).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public long marketValueFixedPoint() {
+        int i = index++ & (SAMPLES - 1);
+        return FixedPoint.value(heldUnits[i], priceCents[i]);
+    }
+}
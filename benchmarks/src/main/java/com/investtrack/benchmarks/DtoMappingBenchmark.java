@@ -0,0 +1,59 @@
+package com.investtrack.benchmarks;
+
+import com.investtrack.market.dto.AssetDTO;
+import com.investtrack.market.entity.Asset;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * DTO Mapping Benchmark - Entity to DTO conversion in Market Service
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoMappingBenchmark {
+
+    @Param({"100"})
+    private int catalogueSize;
+
+    private Asset asset;
+    private AssetDTO assetDTO;
+    private List<Asset> catalogue;
+
+    @Setup
+    public void setUp() {
+        asset = new Asset(1L, "BTC", "Bitcoin", new BigDecimal("45000.00"), Asset.AssetType.CRYPTO, 0L);
+        assetDTO = AssetDTO.fromEntity(asset);
+        catalogue = new ArrayList<>(catalogueSize);
+        for (int i = 0; i < catalogueSize; i++) {
+            catalogue.add(new Asset((long) i, "SYM" + i, "Asset " + i,
+                    BigDecimal.valueOf(100_00L + i, 2), Asset.AssetType.STOCK, 0L));
+        }
+    }
+
+    @Benchmark
+    public AssetDTO fromEntity() {
+        return AssetDTO.fromEntity(asset);
+    }
+
+    @Benchmark
+    public Asset toEntity() {
+        return assetDTO.toEntity();
+    }
+
+    /** Same shape as AssetService.getAllAssets */
+    @Benchmark
+    public List<AssetDTO> mapCatalogue() {
+        return catalogue.stream()
+                .map(AssetDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,72 @@
+package com.investtrack.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Market Service Stub - Serves fixed quotes so Wallet Service can run without the real Market Service
+ */
+class MarketServiceStub implements AutoCloseable {
+
+    private static final String SYMBOL_PATH = "/api/assets/symbol/";
+
+    private final HttpServer server;
+    private final List<String> symbols;
+
+    MarketServiceStub(List<String> symbols) throws IOException {
+        this.symbols = symbols;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/assets", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith(SYMBOL_PATH)) {
+            String symbol = path.substring(SYMBOL_PATH.length()).toUpperCase();
+            int index = symbols.indexOf(symbol);
+            if (index < 0) {
+                respond(exchange, 404, "{\"message\":\"Asset not found\"}");
+            } else {
+                respond(exchange, 200, assetJson(index));
+            }
+        } else {
+            String all = symbols.stream()
+                    .map(symbol -> assetJson(symbols.indexOf(symbol)))
+                    .collect(Collectors.joining(",", "[", "]"));
+            respond(exchange, 200, all);
+        }
+    }
+
+    private String assetJson(int index) {
+        return String.format("{\"id\":%d,\"symbol\":\"%s\",\"name\":\"%s\",\"currentPrice\":%d.50,\"type\":\"STOCK\"}",
+                index + 1, symbols.get(index), symbols.get(index), 100 + index);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
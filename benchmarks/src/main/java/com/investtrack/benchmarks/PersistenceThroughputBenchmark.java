@@ -0,0 +1,124 @@
+package com.investtrack.benchmarks;
+
+import com.investtrack.market.MarketServiceApplication;
+import com.investtrack.market.entity.Asset;
+import com.investtrack.market.repository.AssetRepository;
+import com.investtrack.wallet.WalletServiceApplication;
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.entity.Wallet;
+import com.investtrack.wallet.repository.TransactionRepository;
+import com.investtrack.wallet.repository.WalletRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistence Throughput Benchmark - Insert rate of trades and bulk asset creation on H2
+ *
+ * Each invocation writes one batch in one transaction; throughput is reported per row.
+ * Compare jdbcBatchSize=1 (one statement per row) with the configured default of 50.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceThroughputBenchmark {
+
+    private static final int ROWS_PER_BATCH = 100;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext marketContext;
+    private ConfigurableApplicationContext walletContext;
+    private AssetRepository assetRepository;
+    private WalletRepository walletRepository;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate marketTransactions;
+    private TransactionTemplate walletTransactions;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        marketContext = startService(MarketServiceApplication.class, "market");
+        walletContext = startService(WalletServiceApplication.class, "wallet");
+
+        assetRepository = marketContext.getBean(AssetRepository.class);
+        marketTransactions = new TransactionTemplate(marketContext.getBean(PlatformTransactionManager.class));
+        walletRepository = walletContext.getBean(WalletRepository.class);
+        transactionRepository = walletContext.getBean(TransactionRepository.class);
+        walletTransactions = new TransactionTemplate(walletContext.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        walletContext.close();
+        marketContext.close();
+    }
+
+    /** New wallets plus their opening BUY transaction, as executeBuy writes them */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_BATCH)
+    public void insertTrades() {
+        walletTransactions.executeWithoutResult(status -> {
+            List<Wallet> wallets = new ArrayList<>(ROWS_PER_BATCH);
+            for (int i = 0; i < ROWS_PER_BATCH; i++) {
+                wallets.add(new Wallet(null, "user-" + sequence.incrementAndGet(), "AAPL",
+                        new BigDecimal("1.00000000"), new BigDecimal("150.00"), null, new ArrayList<>()));
+            }
+            List<Wallet> saved = walletRepository.saveAll(wallets);
+
+            List<Transaction> transactions = new ArrayList<>(ROWS_PER_BATCH);
+            for (Wallet wallet : saved) {
+                Transaction transaction = new Transaction();
+                transaction.setWallet(wallet);
+                transaction.setUserId(wallet.getUserId());
+                transaction.setType(Transaction.TransactionType.BUY);
+                transaction.setAssetSymbol(wallet.getAssetSymbol());
+                transaction.setQuantity(wallet.getQuantity());
+                transaction.setPrice(wallet.getAverageBuyPrice());
+                transaction.setTimestamp(LocalDateTime.now());
+                transactions.add(transaction);
+            }
+            transactionRepository.saveAll(transactions);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_BATCH)
+    public void createAssets() {
+        marketTransactions.executeWithoutResult(status -> {
+            List<Asset> assets = new ArrayList<>(ROWS_PER_BATCH);
+            for (int i = 0; i < ROWS_PER_BATCH; i++) {
+                String symbol = "B" + Long.toString(sequence.incrementAndGet(), 36).toUpperCase();
+                assets.add(new Asset(null, symbol, "Benchmark " + symbol, new BigDecimal("10.00"), Asset.AssetType.STOCK, 0L));
+            }
+            assetRepository.saveAll(assets);
+        });
+    }
+
+    private ConfigurableApplicationContext startService(Class<?> application, String database) {
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.cloud.config.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + "-throughput;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "--logging.level.root=WARN"
+                );
+    }
+}
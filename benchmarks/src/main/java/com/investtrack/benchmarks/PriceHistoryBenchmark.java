@@ -0,0 +1,75 @@
+package com.investtrack.benchmarks;
+
+import com.investtrack.market.config.MarketConfig;
+import com.investtrack.market.dto.OhlcBarDTO;
+import com.investtrack.market.dto.PriceHistoryDTO;
+import com.investtrack.market.dto.PriceTickDTO;
+import com.investtrack.market.event.PriceChangedEvent;
+import com.investtrack.market.history.PriceHistoryStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price History Benchmark - Range queries over a symbol holding millions of ticks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PriceHistoryBenchmark {
+
+    @Param({"2000000"})
+    private int tickCount;
+
+    private PriceHistoryStore store;
+    private Instant end;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        MarketConfig config = new MarketConfig();
+        config.setHistoryPartitionMinutes(60);
+        config.setHistoryRetentionHours(24 * 30);
+        config.setHistoryMaxBars(50_000);
+        config.setHistoryMaxPoints(10_000);
+        store = new PriceHistoryStore(config, new SimpleMeterRegistry());
+
+        // One tick every 250ms for the benchmark symbol
+        long start = System.currentTimeMillis() - tickCount * 250L;
+        Random prices = new Random(7);
+        long price = 4_500_000;
+        for (int i = 0; i < tickCount; i++) {
+            price = Math.max(1, price + prices.nextInt(201) - 100);
+            store.onPriceChanged(new PriceChangedEvent(1L, "BTC", BigDecimal.valueOf(price, 2), i + 1L, start + i * 250L));
+        }
+        end = Instant.ofEpochMilli(start + (tickCount - 1) * 250L);
+        random = new Random(11);
+    }
+
+    /** One hour of raw ticks (14,400 ticks, capped at 10,000) */
+    @Benchmark
+    public PriceHistoryDTO ticksLastHour() {
+        return store.getTicks("BTC", end.minusSeconds(3600), end, null, null);
+    }
+
+    /** One day of 1-minute bars */
+    @Benchmark
+    public List<OhlcBarDTO> minuteBarsLastDay() {
+        return store.getBars("BTC", "1m", end.minusSeconds(86_400), end, null);
+    }
+
+    /** Price at a random point in the stored range */
+    @Benchmark
+    public PriceTickDTO priceAtRandomTime() {
+        long offset = (long) (random.nextDouble() * (tickCount - 1) * 250L);
+        return store.getPriceAt("BTC", end.minusMillis(offset));
+    }
+}
@@ -0,0 +1,87 @@
+package com.investtrack.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investtrack.market.dto.AssetDTO;
+import com.investtrack.market.entity.Asset;
+import com.investtrack.market.wire.QuoteWireFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote Wire Format Benchmark - JSON vs binary quotes on the wallet -> market hop
+ * Encoding runs Market Service's side, decoding Wallet Service's side.
+ * Setup refuses to run if the two copies of the format disagree on the benchmark data.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QuoteWireFormatBenchmark {
+
+    private static final TypeReference<List<com.investtrack.wallet.dto.AssetDTO>> WALLET_ASSETS =
+            new TypeReference<>() {
+            };
+
+    @Param({"1", "50"})
+    private int quotes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<AssetDTO> assets;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        assets = new ArrayList<>(quotes);
+        for (int i = 0; i < quotes; i++) {
+            assets.add(new AssetDTO((long) i, "SYM" + i, "Asset " + i,
+                    BigDecimal.valueOf(12_345_67L + i, 2), Asset.AssetType.STOCK, i));
+        }
+        json = objectMapper.writeValueAsBytes(assets);
+        binary = QuoteWireFormat.encode(assets);
+        checkRoundTrip(assets, com.investtrack.wallet.wire.QuoteWireFormat.decode(binary));
+        System.out.printf("%n%d quotes: JSON %d bytes, binary %d bytes%n", quotes, json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(assets);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return QuoteWireFormat.encode(assets);
+    }
+
+    @Benchmark
+    public List<com.investtrack.wallet.dto.AssetDTO> decodeJson() throws Exception {
+        return objectMapper.readValue(json, WALLET_ASSETS);
+    }
+
+    @Benchmark
+    public List<com.investtrack.wallet.dto.AssetDTO> decodeBinary() {
+        return com.investtrack.wallet.wire.QuoteWireFormat.decode(binary);
+    }
+
+    private static void checkRoundTrip(List<AssetDTO> encoded, List<com.investtrack.wallet.dto.AssetDTO> decoded) {
+        if (decoded.size() != encoded.size()) {
+            throw new IllegalStateException("Decoded " + decoded.size() + " quotes, encoded " + encoded.size());
+        }
+        for (int i = 0; i < encoded.size(); i++) {
+            AssetDTO expected = encoded.get(i);
+            com.investtrack.wallet.dto.AssetDTO expectedWallet = new com.investtrack.wallet.dto.AssetDTO(
+                    expected.getId(), expected.getSymbol(), expected.getName(), expected.getCurrentPrice(),
+                    expected.getType() == null ? null : expected.getType().name(), expected.getPriceVersion());
+            if (!expectedWallet.equals(decoded.get(i))) {
+                throw new IllegalStateException("Quote " + i + " decoded as " + decoded.get(i) + ", encoded " + expected);
+            }
+        }
+    }
+}
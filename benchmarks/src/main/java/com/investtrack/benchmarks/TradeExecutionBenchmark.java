@@ -0,0 +1,96 @@
+package com.investtrack.benchmarks;
+
+import com.investtrack.wallet.WalletServiceApplication;
+import com.investtrack.wallet.dto.TradeRequestDTO;
+import com.investtrack.wallet.dto.TradeResponseDTO;
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.service.WalletService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trade Execution Benchmark - WalletService.executeTrade in-process against H2
+ *
+ * Market Service is replaced by a local HTTP stub reached through simple discovery,
+ * so the Feign client, price cache, circuit breaker and JPA path are all exercised.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeExecutionBenchmark {
+
+    private static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "GOOGL", "AMZN", "BTC", "ETH", "GOLD", "TSLA");
+
+    @State(Scope.Benchmark)
+    public static class WalletContext {
+
+        private MarketServiceStub marketStub;
+        private ConfigurableApplicationContext context;
+        private WalletService walletService;
+        private final AtomicInteger users = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            marketStub = new MarketServiceStub(SYMBOLS);
+            context = new SpringApplicationBuilder(WalletServiceApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run(
+                            "--spring.cloud.config.enabled=false",
+                            "--eureka.client.enabled=false",
+                            "--spring.cloud.discovery.client.simple.instances.market-service[0].uri=" + marketStub.baseUrl(),
+                            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                            "--spring.jpa.hibernate.ddl-auto=create-drop",
+                            "--logging.level.root=WARN"
+                    );
+            walletService = context.getBean(WalletService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+            marketStub.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Trader {
+
+        private String userId;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(WalletContext wallet) {
+            userId = "bench-user-" + wallet.users.incrementAndGet();
+        }
+
+        TradeRequestDTO nextRequest(Transaction.TransactionType type) {
+            String symbol = SYMBOLS.get(next++ % SYMBOLS.size());
+            return new TradeRequestDTO(userId, symbol, new BigDecimal("0.5000"), type);
+        }
+    }
+
+    @Benchmark
+    public TradeResponseDTO buy(WalletContext wallet, Trader trader) {
+        return wallet.walletService.executeTrade(trader.nextRequest(Transaction.TransactionType.BUY));
+    }
+
+    /** A buy immediately followed by a sell of the same position */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public TradeResponseDTO buyThenSell(WalletContext wallet, Trader trader) {
+        TradeRequestDTO buy = trader.nextRequest(Transaction.TransactionType.BUY);
+        wallet.walletService.executeTrade(buy);
+        TradeRequestDTO sell = new TradeRequestDTO(buy.getUserId(), buy.getAssetSymbol(), buy.getQuantity(),
+                Transaction.TransactionType.SELL);
+        return wallet.walletService.executeTrade(sell);
+    }
+}
@@ -0,0 +1,285 @@
+package com.investtrack.config.mirror;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Config Mirror - Keeps an on-disk mirror of the config repository and publishes snapshots of it
+ *
+ * Layout under the mirror directory:
+ * <pre>
+ *   repo/                 bare clone of the remote, fetched in the background
+ *   snapshots/{commit}/   files exported at a commit, read-only once published
+ *   CURRENT               commit id of the snapshot being served
+ * </pre>
+ * A snapshot is exported to a temporary directory, moved into place and only then published, both on disk
+ * (CURRENT is replaced atomically) and in memory. Requests keep the snapshot they started with, and a restart
+ * serves the last published snapshot without touching the network.
+ */
+@Component
+@Profile("mirror")
+public class ConfigMirror {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigMirror.class);
+
+    private final String uri;
+    private final String label;
+    private final int timeoutSeconds;
+    private final long refreshIntervalMillis;
+    private final Path repoDirectory;
+    private final Path snapshotsDirectory;
+    private final Path currentFile;
+    private final ConfigurableEnvironment environment;
+    private final ObservationRegistry observationRegistry;
+
+    private final AtomicReference<ConfigSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<Instant> lastChecked = new AtomicReference<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-mirror-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter refreshUpdated;
+    private final Counter refreshUnchanged;
+    private final Counter refreshFailed;
+
+    public ConfigMirror(@Value("${spring.cloud.config.server.git.uri}") String uri,
+                        @Value("${spring.cloud.config.server.git.default-label:main}") String label,
+                        @Value("${spring.cloud.config.server.git.timeout:10}") int timeoutSeconds,
+                        @Value("${invest-config.config-server.mirror.dir:${user.home}/.investtrack/config-mirror}") String directory,
+                        @Value("${invest-config.config-server.mirror.refresh-interval-ms:30000}") long refreshIntervalMillis,
+                        ConfigurableEnvironment environment,
+                        ObjectProvider<ObservationRegistry> observationRegistry,
+                        MeterRegistry meterRegistry) {
+        this.uri = uri;
+        this.label = label;
+        this.timeoutSeconds = timeoutSeconds;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        Path root = Path.of(directory);
+        this.repoDirectory = root.resolve("repo");
+        this.snapshotsDirectory = root.resolve("snapshots");
+        this.currentFile = root.resolve("CURRENT");
+        this.environment = environment;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+
+        this.refreshUpdated = refreshCounter(meterRegistry, "updated");
+        this.refreshUnchanged = refreshCounter(meterRegistry, "unchanged");
+        this.refreshFailed = refreshCounter(meterRegistry, "failed");
+        Gauge.builder("config.mirror.snapshot.age", this, ConfigMirror::secondsSinceLastCheck)
+                .description("Seconds since the served snapshot was last confirmed against the remote repository")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Serve the last published snapshot right away; only a first start has to reach the remote
+     */
+    @PostConstruct
+    public void start() {
+        loadPublishedSnapshot();
+        if (current.get() == null) {
+            refresh();
+        }
+        refresher.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Snapshot being served, null until the first one is published
+     */
+    ConfigSnapshot current() {
+        return current.get();
+    }
+
+    String label() {
+        return label;
+    }
+
+    /**
+     * Fetch the remote and publish a new snapshot if the label moved. Failures keep the current snapshot.
+     */
+    public synchronized void refresh() {
+        try (Git git = openMirror()) {
+            Repository repository = git.getRepository();
+            ObjectId head = repository.resolve(Constants.R_HEADS + label);
+            if (head == null) {
+                throw new IllegalStateException("Label " + label + " not found in " + uri);
+            }
+            String version = head.name();
+            ConfigSnapshot served = current.get();
+            if (served != null && served.version().equals(version)) {
+                refreshUnchanged.increment();
+                lastChecked.set(Instant.now());
+                return;
+            }
+
+            Path directory = snapshotsDirectory.resolve(version);
+            if (!Files.isDirectory(directory)) {
+                export(repository, head, directory);
+            }
+            publish(version, directory);
+            refreshUpdated.increment();
+            log.info("Config mirror - serving {} at {} (was {})", label, version,
+                    served == null ? "none" : served.version());
+            pruneSnapshots(served);
+        } catch (Exception ex) {
+            refreshFailed.increment();
+            ConfigSnapshot served = current.get();
+            log.warn("Config mirror - refresh from {} failed, still serving {}: {}", uri,
+                    served == null ? "nothing" : served.version(), ex.getMessage());
+        }
+    }
+
+    private void loadPublishedSnapshot() {
+        try {
+            if (!Files.exists(currentFile)) {
+                return;
+            }
+            String version = Files.readString(currentFile, StandardCharsets.UTF_8).trim();
+            Path directory = snapshotsDirectory.resolve(version);
+            if (!Files.isDirectory(directory)) {
+                log.warn("Config mirror - CURRENT points to missing snapshot {}", version);
+                return;
+            }
+            current.set(new ConfigSnapshot(version, directory, resolver(directory)));
+            lastChecked.set(Files.getLastModifiedTime(currentFile).toInstant());
+            log.info("Config mirror - serving published snapshot {}", version);
+        } catch (IOException ex) {
+            log.warn("Config mirror - could not read the published snapshot: {}", ex.getMessage());
+        }
+    }
+
+    private Git openMirror() throws Exception {
+        RefSpec refSpec = new RefSpec("+" + Constants.R_HEADS + label + ":" + Constants.R_HEADS + label);
+        if (!Files.isDirectory(repoDirectory)) {
+            return Git.cloneRepository()
+                    .setURI(uri)
+                    .setDirectory(repoDirectory.toFile())
+                    .setBare(true)
+                    .setBranchesToClone(List.of(Constants.R_HEADS + label))
+                    .setBranch(label)
+                    .setTimeout(timeoutSeconds)
+                    .call();
+        }
+        Git git = Git.open(repoDirectory.toFile());
+        try {
+            git.fetch().setRemote("origin").setRefSpecs(refSpec).setTimeout(timeoutSeconds).call();
+        } catch (Exception ex) {
+            git.close();
+            throw ex;
+        }
+        return git;
+    }
+
+    /**
+     * Write the files of a commit to a temporary directory, then move it into place in one step
+     */
+    private void export(Repository repository, ObjectId commitId, Path directory) throws IOException {
+        Path staging = snapshotsDirectory.resolve(directory.getFileName() + ".tmp");
+        FileSystemUtils.deleteRecursively(staging);
+        Files.createDirectories(staging);
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(commitId);
+            treeWalk.addTree(commit.getTree());
+            treeWalk.setRecursive(true);
+            while (treeWalk.next()) {
+                Path file = staging.resolve(treeWalk.getPathString());
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    repository.open(treeWalk.getObjectId(0)).copyTo(out);
+                }
+            }
+        }
+        Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void publish(String version, Path directory) throws IOException {
+        Path staging = currentFile.resolveSibling("CURRENT.tmp");
+        Files.writeString(staging, version, StandardCharsets.UTF_8);
+        Files.move(staging, currentFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        current.set(new ConfigSnapshot(version, directory, resolver(directory)));
+        lastChecked.set(Instant.now());
+    }
+
+    /**
+     * Keep the served snapshot and the one before it; requests that started on the previous one may still read it
+     */
+    private void pruneSnapshots(ConfigSnapshot previous) throws IOException {
+        ConfigSnapshot served = current.get();
+        try (Stream<Path> snapshots = Files.list(snapshotsDirectory)) {
+            for (Path snapshot : snapshots.toList()) {
+                if (snapshot.equals(served.directory())
+                        || (previous != null && snapshot.equals(previous.directory()))) {
+                    continue;
+                }
+                FileSystemUtils.deleteRecursively(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Same resolution rules as the Git backend, which also delegates to a native repository over its working copy
+     */
+    private NativeEnvironmentRepository resolver(Path directory) {
+        NativeEnvironmentProperties properties = new NativeEnvironmentProperties();
+        properties.setSearchLocations(new String[]{directory.toUri().toString()});
+        properties.setAddLabelLocations(false);
+        properties.setDefaultLabel(label);
+        return new NativeEnvironmentRepository(environment, properties, observationRegistry);
+    }
+
+    private double secondsSinceLastCheck() {
+        Instant checked = lastChecked.get();
+        return checked == null ? Double.NaN : Duration.between(checked, Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("config.mirror.refresh")
+                .description("Background fetches of the config repository")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
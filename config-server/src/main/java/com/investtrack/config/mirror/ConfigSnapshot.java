@@ -0,0 +1,27 @@
+package com.investtrack.config.mirror;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Config Snapshot - One immutable export of the config repository at a commit
+ * Resolved environments are cached on the snapshot itself, so replacing the snapshot drops them all at once.
+ *
+ * @param version      commit id the files were exported from
+ * @param directory    exported files, never modified after the snapshot is published
+ * @param resolver     native repository reading from the directory
+ * @param environments resolved environments keyed by application, profile and label
+ */
+record ConfigSnapshot(String version,
+                      Path directory,
+                      NativeEnvironmentRepository resolver,
+                      Map<String, Environment> environments) {
+
+    ConfigSnapshot(String version, Path directory, NativeEnvironmentRepository resolver) {
+        this(version, directory, resolver, new ConcurrentHashMap<>());
+    }
+}
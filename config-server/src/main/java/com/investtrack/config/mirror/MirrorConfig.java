@@ -0,0 +1,36 @@
+package com.investtrack.config.mirror;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Mirror Configuration - HTTP caching and startup settings for mirror mode (spring.profiles.active=mirror)
+ */
+@Configuration
+@Profile("mirror")
+public class MirrorConfig {
+
+    /**
+     * Environments come from the in-memory cache, so an ETag check answers an unchanged fetch
+     * with 304 and no body, without touching the disk
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> configEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    /**
+     * The snapshot is loaded and the refresh scheduled at startup, even with the faststart profile
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerConfigMirror() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ConfigMirror.class);
+    }
+}
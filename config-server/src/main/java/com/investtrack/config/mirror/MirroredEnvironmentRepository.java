@@ -0,0 +1,104 @@
+package com.investtrack.config.mirror;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NoSuchLabelException;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Mirrored Environment Repository - Serves configuration from the mirror's current snapshot
+ *
+ * Declaring it replaces the default Git repository, so config clients are never blocked on the network.
+ * Each (application, profile, label) is resolved once per snapshot and then answered from memory.
+ */
+@Component
+@Profile("mirror")
+public class MirroredEnvironmentRepository implements EnvironmentRepository, SearchPathLocator, Ordered {
+
+    private final ConfigMirror mirror;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public MirroredEnvironmentRepository(ConfigMirror mirror, MeterRegistry meterRegistry) {
+        this.mirror = mirror;
+        this.cacheHits = cacheCounter(meterRegistry, "hit");
+        this.cacheMisses = cacheCounter(meterRegistry, "miss");
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        String resolvedLabel = resolveLabel(label);
+        ConfigSnapshot snapshot = currentSnapshot();
+
+        String key = application + "|" + profile + "|" + resolvedLabel;
+        Environment environment = snapshot.environments().get(key);
+        if (environment != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+            environment = snapshot.resolver().findOne(application, profile, resolvedLabel);
+            environment.setLabel(resolvedLabel);
+            environment.setVersion(snapshot.version());
+            Environment raced = snapshot.environments().putIfAbsent(key, environment);
+            if (raced != null) {
+                environment = raced;
+            }
+        }
+        return copyOf(environment);
+    }
+
+    /**
+     * Lets the plain-text resource endpoints read files from the snapshot, as they would from the Git working copy
+     */
+    @Override
+    public Locations getLocations(String application, String profile, String label) {
+        String resolvedLabel = resolveLabel(label);
+        ConfigSnapshot snapshot = currentSnapshot();
+        return new Locations(application, profile, resolvedLabel, snapshot.version(),
+                new String[]{snapshot.directory().toUri().toString()});
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private String resolveLabel(String label) {
+        String resolvedLabel = StringUtils.hasText(label) ? label : mirror.label();
+        if (!resolvedLabel.equals(mirror.label())) {
+            throw new NoSuchLabelException("Mirror mode only serves label " + mirror.label());
+        }
+        return resolvedLabel;
+    }
+
+    private ConfigSnapshot currentSnapshot() {
+        ConfigSnapshot snapshot = mirror.current();
+        if (snapshot == null) {
+            throw new SnapshotUnavailableException("No configuration snapshot has been fetched yet");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Callers may decrypt or relabel what they get; the cached instance stays untouched
+     */
+    private static Environment copyOf(Environment cached) {
+        Environment copy = new Environment(cached.getName(), cached.getProfiles(), cached.getLabel(),
+                cached.getVersion(), cached.getState());
+        copy.addAll(cached.getPropertySources());
+        return copy;
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("config.mirror.cache.requests")
+                .description("Environment lookups answered from the snapshot cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
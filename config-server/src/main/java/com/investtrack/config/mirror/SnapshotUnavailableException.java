@@ -0,0 +1,15 @@
+package com.investtrack.config.mirror;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when mirror mode has no snapshot to serve yet (first start without access to the remote repository)
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SnapshotUnavailableException extends RuntimeException {
+
+    public SnapshotUnavailableException(String message) {
+        super(message);
+    }
+}
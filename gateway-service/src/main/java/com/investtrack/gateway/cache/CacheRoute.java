@@ -0,0 +1,24 @@
+package com.investtrack.gateway.cache;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.Locale;
+
+/**
+ * Cache Route - A gateway path whose GET responses may be cached, with its time to live
+ * Routes with a {symbol} variable are invalidated by price pushes for that symbol; the others expire by TTL only
+ */
+public record CacheRoute(String name, PathPattern pattern, long ttlMillis) {
+
+    private static final String SYMBOL_VARIABLE = "symbol";
+
+    /**
+     * Upper-cased symbol addressed by a matching path, or null for list routes
+     */
+    public String symbolOf(PathContainer path) {
+        PathPattern.PathMatchInfo match = pattern.matchAndExtract(path);
+        String symbol = match != null ? match.getUriVariables().get(SYMBOL_VARIABLE) : null;
+        return symbol != null ? symbol.toUpperCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.investtrack.gateway.cache;
+
+/**
+ * Cached Response - Body and validator of a cached upstream 200 response
+ * symbol is the asset addressed by a single-symbol route, null for list routes
+ */
+public record CachedResponse(String route, byte[] body, String contentType, String etag,
+                             String symbol, long expiresAtMillis) {
+
+    public boolean isExpired(long now) {
+        return now >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,180 @@
+package com.investtrack.gateway.cache;
+
+import com.investtrack.gateway.dto.PriceChangeDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Response Cache - Bounded store of cached market responses with price-change invalidation
+ *
+ * Single-symbol entries are indexed by their symbol, and a price push drops only the entries
+ * of the changed symbol. List entries are not invalidated: any tick would evict them, so they
+ * rely on their short TTL instead. A single-symbol response fetched while its symbol was
+ * invalidated is not stored, since it may predate the change.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    public enum Result { HIT, NOT_MODIFIED, MISS }
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final int maxEntries;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysBySymbol = new ConcurrentHashMap<>();
+    // Striped by symbol hash, so the symbols in request paths cannot grow it
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMetrics> routeMetrics = new ConcurrentHashMap<>();
+    private final Counter invalidations;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.response-cache.max-entries:1000}") int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.maxEntries = maxEntries;
+        this.invalidations = meterRegistry.counter("gateway.response.cache.invalidations");
+        Gauge.builder("gateway.response.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Live entry for a key, or null
+     */
+    public CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.isExpired(System.currentTimeMillis())) {
+            remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Invalidation generation of a symbol; read before fetching a response that will be stored
+     * List routes pass null and are never invalidated
+     */
+    public long generation(String symbol) {
+        return symbol == null ? 0 : generations.get(stripeOf(symbol));
+    }
+
+    /**
+     * Store a response unless its symbol was invalidated since generationAtFetch was read
+     */
+    public void put(String key, CachedResponse response, long generationAtFetch) {
+        String symbol = response.symbol();
+        if (symbol != null && generation(symbol) != generationAtFetch) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        if (symbol != null) {
+            keysBySymbol.computeIfAbsent(symbol, ignored -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        entries.put(key, response);
+        // An invalidation may have drained the index just before the put
+        if (symbol != null && generation(symbol) != generationAtFetch) {
+            remove(key, response);
+        }
+    }
+
+    /**
+     * Drop the single-symbol entries of the changed symbol
+     */
+    @EventListener
+    public void onPriceChange(PriceChangeDTO priceChange) {
+        if (priceChange.getSymbol() == null) {
+            return;
+        }
+        String symbol = priceChange.getSymbol().toUpperCase(Locale.ROOT);
+        generations.incrementAndGet(stripeOf(symbol));
+        invalidations.increment();
+        Set<String> keys = keysBySymbol.remove(symbol);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    /**
+     * Count a cache lookup against its route
+     */
+    public void record(String route, Result result) {
+        routeMetrics.computeIfAbsent(route, this::registerRoute).record(result);
+    }
+
+    /**
+     * Register the meters of a route up front so they report before its first request
+     */
+    public void registerRoutes(Iterable<CacheRoute> routes) {
+        for (CacheRoute route : routes) {
+            routeMetrics.computeIfAbsent(route.name(), this::registerRoute);
+        }
+    }
+
+    private RouteMetrics registerRoute(String route) {
+        RouteMetrics metrics = new RouteMetrics(
+                meterRegistry.counter("gateway.response.cache.requests", "route", route, "result", "hit"),
+                meterRegistry.counter("gateway.response.cache.requests", "route", route, "result", "not_modified"),
+                meterRegistry.counter("gateway.response.cache.requests", "route", route, "result", "miss"));
+        Gauge.builder("gateway.response.cache.hit.ratio", metrics, RouteMetrics::hitRatio)
+                .tag("route", route)
+                .register(meterRegistry);
+        return metrics;
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, cached) -> {
+            if (cached.isExpired(now)) {
+                remove(key, cached);
+            }
+        });
+        if (entries.size() >= maxEntries) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                    .ifPresent(soonest -> remove(soonest.getKey(), soonest.getValue()));
+        }
+    }
+
+    private void remove(String key, CachedResponse cached) {
+        if (entries.remove(key, cached) && cached.symbol() != null) {
+            Set<String> keys = keysBySymbol.get(cached.symbol());
+            if (keys != null) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    private static int stripeOf(String symbol) {
+        return Math.floorMod(symbol.hashCode(), GENERATION_STRIPES);
+    }
+
+    private record RouteMetrics(Counter hits, Counter notModified, Counter misses) {
+
+        void record(Result result) {
+            switch (result) {
+                case HIT -> hits.increment();
+                case NOT_MODIFIED -> notModified.increment();
+                case MISS -> misses.increment();
+            }
+        }
+
+        double hitRatio() {
+            double served = hits.count() + notModified.count();
+            double total = served + misses.count();
+            return total == 0 ? 0 : served / total;
+        }
+    }
+}
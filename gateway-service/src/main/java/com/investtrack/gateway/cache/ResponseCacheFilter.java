@@ -0,0 +1,180 @@
+package com.investtrack.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Response Cache Filter - Serves market read routes from the gateway's response cache
+ *
+ * Runs ahead of the route filters, so it matches the public /api/market/... paths. Cached
+ * responses carry an ETag; a matching If-None-Match is answered with 304 without a body.
+ * Only uncompressed 200 responses up to max-body-bytes are stored.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final ResponseCache responseCache;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final List<CacheRoute> routes;
+
+    public ResponseCacheFilter(ResponseCache responseCache,
+                               @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.response-cache.max-body-bytes:262144}") int maxBodyBytes,
+                               @Value("${gateway.response-cache.list-ttl-ms:2000}") long listTtlMillis,
+                               @Value("${gateway.response-cache.symbol-ttl-ms:5000}") long symbolTtlMillis) {
+        this.responseCache = responseCache;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routes = List.of(
+                new CacheRoute("assets", parser.parse("/api/market/assets"), listTtlMillis),
+                new CacheRoute("assets-by-type", parser.parse("/api/market/assets/type/{type}"), listTtlMillis),
+                new CacheRoute("asset-by-symbol", parser.parse("/api/market/assets/symbol/{symbol}"), symbolTtlMillis));
+        responseCache.registerRoutes(routes);
+    }
+
+    @Override
+    public int getOrder() {
+        // Must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        CacheRoute route = match(request);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = keyOf(request);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            return writeCached(exchange, route, cached);
+        }
+
+        responseCache.record(route.name(), ResponseCache.Result.MISS);
+        String symbol = route.symbolOf(request.getPath().pathWithinApplication());
+        long generation = responseCache.generation(symbol);
+        ServerHttpResponse response = exchange.getResponse();
+        ServerHttpResponseDecorator caching = new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if ((status != null && status.value() != HttpStatus.OK.value())
+                        || getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    if (bytes.length > maxBodyBytes) {
+                        return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    }
+                    return store(this, request, route, key, symbol, generation, bytes);
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(caching).build());
+    }
+
+    private Mono<Void> store(ServerHttpResponseDecorator response, ServerHttpRequest request, CacheRoute route,
+                             String key, String symbol, long generation, byte[] body) {
+        String etag = etagOf(body);
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl(CACHE_CONTROL);
+        headers.set(CACHE_STATUS_HEADER, "MISS");
+
+        String contentType = headers.getContentType() != null ? headers.getContentType().toString() : null;
+        responseCache.put(key, new CachedResponse(route.name(), body, contentType, etag, symbol,
+                System.currentTimeMillis() + route.ttlMillis()), generation);
+
+        if (matchesIfNoneMatch(request, etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.getDelegate().setComplete();
+        }
+        return response.getDelegate().writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CacheRoute route, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(CACHE_CONTROL);
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+            responseCache.record(route.name(), ResponseCache.Result.NOT_MODIFIED);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        responseCache.record(route.name(), ResponseCache.Result.HIT);
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private CacheRoute match(ServerHttpRequest request) {
+        for (CacheRoute route : routes) {
+            if (route.pattern().matches(request.getPath().pathWithinApplication())) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String keyOf(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return request.getPath().value()
+                + (query != null ? "?" + query : "")
+                + "|" + (accept != null ? accept : "");
+    }
+
+    private static String etagOf(byte[] body) {
+        return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
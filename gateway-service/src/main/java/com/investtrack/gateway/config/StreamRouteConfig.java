@@ -0,0 +1,30 @@
+package com.investtrack.gateway.config;
+
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
+/**
+ * Stream Route Configuration - Dedicated route for the Market Service price stream
+ *
+ * Declared in code (ahead of the routes served by Config Server) so the long-lived
+ * text/event-stream response is not cut by the global response timeout. The gateway
+ * flushes streaming media types chunk by chunk, so ticks are passed through unbuffered.
+ */
+@Configuration
+public class StreamRouteConfig {
+
+    @Bean
+    public RouteLocator priceStreamRoute(RouteLocatorBuilder builder) {
+        return builder.routes()
+                .route("market-price-stream", r -> r.order(-1)
+                        .path("/api/market/assets/stream")
+                        .filters(f -> f.rewritePath("/api/market/(?<segment>.*)", "/api/${segment}"))
+                        .uri("lb://market-service")
+                        .metadata(RESPONSE_TIMEOUT_ATTR, -1))
+                .build();
+    }
+}
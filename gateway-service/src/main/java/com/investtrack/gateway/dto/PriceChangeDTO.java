@@ -0,0 +1,25 @@
+package com.investtrack.gateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Price Change DTO - Price push received from Market Service
+ * A null currentPrice means the asset was removed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangeDTO {
+    private Long assetId;
+    private String symbol;
+    private BigDecimal currentPrice;
+
+    /**
+     * Market Service's per-asset price version after this change
+     */
+    private long version;
+}
@@ -0,0 +1,31 @@
+package com.investtrack.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency EWMA - Lock-free exponentially weighted moving average of downstream latency
+ */
+public final class LatencyEwma {
+
+    private final double alpha;
+    private final AtomicLong averageBits = new AtomicLong(Double.doubleToLongBits(0d));
+
+    public LatencyEwma(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public void record(double latencyMillis) {
+        while (true) {
+            long bits = averageBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0d ? latencyMillis : current + alpha * (latencyMillis - current);
+            if (averageBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public double averageMillis() {
+        return Double.longBitsToDouble(averageBits.get());
+    }
+}
@@ -0,0 +1,197 @@
+package com.investtrack.gateway.ratelimit;
+
+import com.investtrack.gateway.cache.ResponseCacheFilter;
+import com.investtrack.gateway.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limit Filter - Per-user token buckets and latency-based load shedding, in memory
+ *
+ * Requests are keyed by the JWT subject recorded by JwtAuthenticationFilter and limited per
+ * route policy. Independently, each route keeps an EWMA of its downstream latency; while the
+ * average is above the threshold, a growing share of that route's requests is shed with 429
+ * before reaching the backend. Some requests always pass so the average can recover.
+ * Limits are per gateway instance.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final boolean rateLimitEnabled;
+    private final boolean sheddingEnabled;
+    private final double latencyThresholdMillis;
+    private final double maxShedRatio;
+    private final List<RateLimitPolicy> policies;
+    private final Map<String, GcraBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, RouteState> routes = new HashMap<>();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${gateway.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                           @Value("${gateway.rate-limit.trade.permits-per-second:5}") double tradeRate,
+                           @Value("${gateway.rate-limit.trade.burst:10}") int tradeBurst,
+                           @Value("${gateway.rate-limit.wallet.permits-per-second:20}") double walletRate,
+                           @Value("${gateway.rate-limit.wallet.burst:40}") int walletBurst,
+                           @Value("${gateway.rate-limit.market.permits-per-second:50}") double marketRate,
+                           @Value("${gateway.rate-limit.market.burst:100}") int marketBurst,
+                           @Value("${gateway.rate-limit.sweep-interval-ms:60000}") long sweepIntervalMs,
+                           @Value("${gateway.load-shedding.enabled:true}") boolean sheddingEnabled,
+                           @Value("${gateway.load-shedding.latency-threshold-ms:1000}") double latencyThresholdMillis,
+                           @Value("${gateway.load-shedding.max-shed-ratio:0.9}") double maxShedRatio,
+                           @Value("${gateway.load-shedding.ewma-alpha:0.2}") double ewmaAlpha) {
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.sheddingEnabled = sheddingEnabled;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.maxShedRatio = maxShedRatio;
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.policies = List.of(
+                new RateLimitPolicy("trade", HttpMethod.POST, parser.parse("/api/wallet/trade"), tradeRate, tradeBurst),
+                new RateLimitPolicy("wallet", null, parser.parse("/api/wallet/**"), walletRate, walletBurst),
+                new RateLimitPolicy("market", null, parser.parse("/api/market/**"), marketRate, marketBurst));
+
+        for (RateLimitPolicy policy : policies) {
+            RouteState state = new RouteState(
+                    new LatencyEwma(ewmaAlpha),
+                    meterRegistry.counter("gateway.rate.limit.requests", "route", policy.name(), "result", "allowed"),
+                    meterRegistry.counter("gateway.rate.limit.requests", "route", policy.name(), "result", "throttled"),
+                    meterRegistry.counter("gateway.rate.limit.requests", "route", policy.name(), "result", "shed"));
+            Gauge.builder("gateway.downstream.latency.ewma", state.latency(), LatencyEwma::averageMillis)
+                    .tag("route", policy.name())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            routes.put(policy.name(), state);
+        }
+        Gauge.builder("gateway.rate.limit.buckets", buckets, Map::size).register(meterRegistry);
+
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int getOrder() {
+        // Ahead of the response cache, so cached routes are limited too
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 10;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RateLimitPolicy policy = match(exchange);
+        if (policy == null) {
+            return chain.filter(exchange);
+        }
+        RouteState route = routes.get(policy.name());
+
+        if (sheddingEnabled && shouldShed(route)) {
+            route.shed().increment();
+            return reject(exchange, TimeUnit.SECONDS.toNanos(1));
+        }
+
+        String subject = exchange.getAttribute(JwtAuthenticationFilter.SUBJECT_ATTRIBUTE);
+        if (rateLimitEnabled && subject != null) {
+            long now = System.nanoTime();
+            long waitNanos = buckets
+                    .computeIfAbsent(policy.name() + '|' + subject,
+                            key -> new GcraBucket(policy.permitsPerSecond(), policy.burst(), now))
+                    .tryAcquire(now);
+            if (waitNanos > 0) {
+                route.throttled().increment();
+                log.debug("Throttled {} on route {}", subject, policy.name());
+                return reject(exchange, waitNanos);
+            }
+        }
+
+        route.allowed().increment();
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal != SignalType.CANCEL && isSampled(exchange.getResponse())) {
+                route.latency().record((System.nanoTime() - start) / 1_000_000d);
+            }
+        });
+    }
+
+    private RateLimitPolicy match(ServerWebExchange exchange) {
+        for (RateLimitPolicy policy : policies) {
+            if (policy.matches(exchange.getRequest())) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Shed with a probability that grows with how far the average is above the threshold
+     */
+    private boolean shouldShed(RouteState route) {
+        double average = route.latency().averageMillis();
+        if (average <= latencyThresholdMillis) {
+            return false;
+        }
+        double ratio = Math.min(maxShedRatio, (average - latencyThresholdMillis) / latencyThresholdMillis);
+        return ThreadLocalRandom.current().nextDouble() < ratio;
+    }
+
+    /**
+     * Streams and cache hits do not reflect backend latency
+     */
+    private static boolean isSampled(ServerHttpResponse response) {
+        if ("HIT".equals(response.getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER))) {
+            return false;
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType == null
+                || !(MediaType.TEXT_EVENT_STREAM.includes(contentType) || MediaType.APPLICATION_NDJSON.includes(contentType));
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfterSeconds = Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private record RouteState(LatencyEwma latency, Counter allowed, Counter throttled, Counter shed) {
+    }
+}
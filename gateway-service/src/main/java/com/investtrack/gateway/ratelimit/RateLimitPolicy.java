@@ -0,0 +1,18 @@
+package com.investtrack.gateway.ratelimit;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * Rate Limit Policy - Per-user limit applied to one gateway route
+ * A null method matches every method.
+ */
+public record RateLimitPolicy(String name, HttpMethod method, PathPattern pattern,
+                              double permitsPerSecond, int burst) {
+
+    public boolean matches(ServerHttpRequest request) {
+        return (method == null || method.equals(request.getMethod()))
+                && pattern.matches(request.getPath().pathWithinApplication());
+    }
+}
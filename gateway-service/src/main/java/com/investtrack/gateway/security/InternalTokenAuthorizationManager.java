@@ -0,0 +1,50 @@
+package com.investtrack.gateway.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Internal Token Authorization - Admits service-to-service calls that carry the shared internal token
+ * An unset token rejects every call, so internal endpoints stay closed until the secret is configured
+ */
+@Component
+@Slf4j
+public class InternalTokenAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    /**
+     * Header carrying the shared secret, sent by Market Service with every price push
+     */
+    public static final String HEADER = "X-Internal-Token";
+
+    private final byte[] token;
+
+    public InternalTokenAuthorizationManager(@Value("${gateway.internal.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        if (token.isBlank()) {
+            log.warn("gateway.internal.token is not set - internal endpoints will reject every call");
+        }
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        String presented = context.getExchange().getRequest().getHeaders().getFirst(HEADER);
+        return Mono.just(new AuthorizationDecision(matches(presented)));
+    }
+
+    private boolean matches(String presented) {
+        if (token.length == 0 || presented == null) {
+            return false;
+        }
+        // Constant-time comparison, so the secret cannot be guessed byte by byte from response times
+        return MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
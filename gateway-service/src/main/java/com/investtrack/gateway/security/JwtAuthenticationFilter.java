@@ -20,7 +20,12 @@ import java.util.ArrayList;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter implements WebFilter {
 
-    private final JwtUtil jwtUtil;
+    /**
+     * Exchange attribute holding the verified JWT subject, for gateway filters keyed by user
+     */
+    public static final String SUBJECT_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".subject";
+
+    private final VerifiedTokenCache tokenCache;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -39,8 +44,11 @@ public class JwtAuthenticationFilter implements WebFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
+            VerifiedToken verified = tokenCache.verify(token).orElse(null);
+
+            if (verified != null) {
+                String username = verified.subject();
+                exchange.getAttributes().put(SUBJECT_ATTRIBUTE, username);
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
@@ -1,8 +1,10 @@
 package com.investtrack.gateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -11,6 +13,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * JWT Utility - Generate and validate JWT tokens
@@ -24,11 +27,25 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    /**
+     * Build the signing key and the verifying parser once from the configured secret
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
-     * Generate secret key from configured secret
+     * Secret key derived from configured secret
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     /**
@@ -58,13 +75,28 @@ public class JwtUtil {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    /**
+     * Parse and verify token once, returning its subject and expiry
+     * Empty when the signature is invalid or the token has expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            Date expiresAt = claims.getExpiration();
+            if (expiresAt == null || expiresAt.before(new Date())) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(claims.getSubject(), expiresAt.getTime()));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Check if token is expired
      */
@@ -0,0 +1,11 @@
+package com.investtrack.gateway.security;
+
+/**
+ * Verified Token - Subject and expiry of a JWT whose signature has been checked
+ */
+public record VerifiedToken(String subject, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
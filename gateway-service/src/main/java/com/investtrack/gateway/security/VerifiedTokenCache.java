@@ -0,0 +1,127 @@
+package com.investtrack.gateway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified Token Cache - Bounded cache of JWTs that already passed signature verification
+ *
+ * Keyed by the SHA-256 of the raw token so the token itself is never held as a map key.
+ * An entry is dropped as soon as its token expires (on access and by a periodic sweep),
+ * so a cached token is never accepted past its exp claim. Invalid tokens are not cached.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final int maxSize;
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jwt-cache-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verification;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.cache.sweep-interval-ms:30000}") long sweepIntervalMs) {
+        this.jwtUtil = jwtUtil;
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("gateway.jwt.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.jwt.cache.requests", "result", "miss");
+        this.verification = Timer.builder("gateway.jwt.verification")
+                .description("Time to parse and verify a JWT signature on a cache miss")
+                .register(meterRegistry);
+        Gauge.builder("gateway.jwt.cache.size", entries, Map::size).register(meterRegistry);
+        Gauge.builder("gateway.jwt.cache.hit.ratio", this, VerifiedTokenCache::hitRatio).register(meterRegistry);
+
+        sweeper.scheduleWithFixedDelay(this::evictExpired, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Verify a token, parsing it only when it is not already cached
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            entries.remove(key, cached);
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        Optional<VerifiedToken> verified = jwtUtil.verify(token);
+        verification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        verified.ifPresent(result -> {
+            if (entries.size() >= maxSize) {
+                makeRoom();
+            }
+            entries.put(key, result);
+        });
+        return verified;
+    }
+
+    private void makeRoom() {
+        evictExpired();
+        if (entries.size() >= maxSize) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                    .ifPresent(soonest -> entries.remove(soonest.getKey(), soonest.getValue()));
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+# Trade Load Test - Fires concurrent trades at Wallet Service and reports throughput and latency
+# Run it once per invest-config.wallet.trade-executor.mode (blocking / async) to compare them.
+# Requires PowerShell 7+ (ForEach-Object -Parallel)
+
+param(
+    [string]$BaseUrl = "http://localhost:8082",
+    [string]$Label = "run",
+    [int]$Requests = 2000,
+    [int]$Concurrency = 200,
+    [int]$Users = 500,
+    [string]$Symbol = "AAPL"
+)
+
+Write-Host "=== InvestTrack Trade Load Test ($Label) ===" -ForegroundColor Cyan
+Write-Host "Target: $BaseUrl/api/wallets/trade  Requests: $Requests  Concurrency: $Concurrency  Users: $Users"
+Write-Host ""
+
+function Get-Metric($name) {
+    try {
+        $metric = Invoke-RestMethod -Uri "$BaseUrl/actuator/metrics/$name" -TimeoutSec 5
+        return $metric.measurements[0].value
+    } catch {
+        return "n/a"
+    }
+}
+
+$threadsBefore = Get-Metric "jvm.threads.live"
+$clock = [System.Diagnostics.Stopwatch]::StartNew()
+
+$results = 1..$Requests | ForEach-Object -ThrottleLimit $Concurrency -Parallel {
+    $body = @{
+        userId      = "load-user-" + ($_ % $using:Users)
+        assetSymbol = $using:Symbol
+        quantity    = 1
+        type        = "BUY"
+    } | ConvertTo-Json
+
+    $watch = [System.Diagnostics.Stopwatch]::StartNew()
+    try {
+        $response = Invoke-WebRequest -Uri "$($using:BaseUrl)/api/wallets/trade" -Method Post `
+            -ContentType "application/json" -Body $body -TimeoutSec 60 -SkipHttpErrorCheck
+        $status = [int]$response.StatusCode
+    } catch {
+        $status = 0
+    }
+    [PSCustomObject]@{ Status = $status; Millis = $watch.Elapsed.TotalMilliseconds }
+}
+
+$clock.Stop()
+$threadsAfter = Get-Metric "jvm.threads.live"
+
+$latencies = $results | Sort-Object Millis | Select-Object -ExpandProperty Millis
+function Get-Percentile($p) {
+    $index = [Math]::Min($latencies.Count - 1, [Math]::Ceiling($p / 100 * $latencies.Count) - 1)
+    return [Math]::Round($latencies[$index], 1)
+}
+
+Write-Host "Status codes:" -ForegroundColor Yellow
+$results | Group-Object Status | Sort-Object Name | ForEach-Object { Write-Host "  $($_.Name): $($_.Count)" }
+
+$throughput = [Math]::Round($Requests / $clock.Elapsed.TotalSeconds, 1)
+Write-Host ""
+Write-Host "Throughput : $throughput trades/s" -ForegroundColor Green
+Write-Host "Latency ms : p50=$(Get-Percentile 50) p95=$(Get-Percentile 95) p99=$(Get-Percentile 99) max=$(Get-Percentile 100)" -ForegroundColor Green
+Write-Host "JVM threads: before=$threadsBefore after=$threadsAfter" -ForegroundColor Green
+Write-Host ""
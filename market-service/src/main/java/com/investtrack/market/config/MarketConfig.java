@@ -0,0 +1,123 @@
+package com.investtrack.market.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Market Configuration - Custom configuration properties
+ */
+@Configuration
+@Data
+public class MarketConfig {
+
+    /**
+     * Service IDs (resolved through Eureka) that receive price change pushes
+     */
+    @Value("${invest-config.market.price-push.subscribers:wallet-service,gateway-service}")
+    private List<String> pricePushSubscribers;
+
+    /**
+     * Path on each subscriber instance that accepts price change pushes
+     */
+    @Value("${invest-config.market.price-push.path:/internal/prices/changes}")
+    private String pricePushPath;
+
+    /**
+     * Shared secret sent with every push in the X-Internal-Token header; subscribers reject pushes without it
+     */
+    @Value("${invest-config.market.price-push.token:}")
+    private String pricePushToken;
+
+    /**
+     * Connect/read timeout for a single push, in milliseconds
+     */
+    @Value("${invest-config.market.price-push.timeout-ms:1000}")
+    private long pricePushTimeoutMs;
+
+    /**
+     * Price changes that may wait to be pushed; further changes are dropped until the queue drains
+     */
+    @Value("${invest-config.market.price-push.queue-capacity:10000}")
+    private int pricePushQueueCapacity;
+
+    /**
+     * Threads posting one change to the subscriber instances in parallel
+     */
+    @Value("${invest-config.market.price-push.parallelism:8}")
+    private int pricePushParallelism;
+
+    /**
+     * Maximum number of concurrent price stream subscribers
+     */
+    @Value("${invest-config.market.stream.max-subscribers:1000}")
+    private int streamMaxSubscribers;
+
+    /**
+     * Maximum number of symbols a single subscriber may filter on
+     */
+    @Value("${invest-config.market.stream.max-symbols:200}")
+    private int streamMaxSymbols;
+
+    /**
+     * Threads used to deliver ticks to subscribers
+     */
+    @Value("${invest-config.market.stream.dispatch-threads:4}")
+    private int streamDispatchThreads;
+
+    /**
+     * Lifetime of a single stream connection; clients reconnect after it expires
+     */
+    @Value("${invest-config.market.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    /**
+     * Interval between keep-alive comments sent to idle subscribers
+     */
+    @Value("${invest-config.market.stream.heartbeat-ms:15000}")
+    private long streamHeartbeatMs;
+
+    /**
+     * Longest a single write to a subscriber may block before the subscriber is dropped
+     */
+    @Value("${invest-config.market.stream.write-timeout-ms:10000}")
+    private long streamWriteTimeoutMs;
+
+    /**
+     * Maximum number of entries accepted by one batch price update
+     */
+    @Value("${invest-config.market.price-batch.max-size:10000}")
+    private int priceBatchMaxSize;
+
+    /**
+     * Maximum number of symbols accepted by one bulk quote request
+     */
+    @Value("${invest-config.market.quotes.max-symbols:200}")
+    private int quotesMaxSymbols;
+
+    /**
+     * Width of one price history partition, in minutes
+     */
+    @Value("${invest-config.market.history.partition-minutes:60}")
+    private long historyPartitionMinutes;
+
+    /**
+     * How long raw ticks are kept, in hours (whole partitions are dropped)
+     */
+    @Value("${invest-config.market.history.retention-hours:168}")
+    private long historyRetentionHours;
+
+    /**
+     * Maximum number of OHLC bars kept per symbol and interval
+     */
+    @Value("${invest-config.market.history.max-bars:10000}")
+    private int historyMaxBars;
+
+    /**
+     * Maximum number of ticks or bars returned by one history query
+     */
+    @Value("${invest-config.market.history.max-points:10000}")
+    private int historyMaxPoints;
+}
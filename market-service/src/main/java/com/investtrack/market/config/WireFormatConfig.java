@@ -0,0 +1,23 @@
+package com.investtrack.market.config;
+
+import com.investtrack.market.wire.QuoteHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Wire Format Configuration - Registers the binary quote format for internal callers
+ *
+ * Added after the default converters, so clients that accept anything (or JSON) keep
+ * getting JSON; only an explicit Accept: application/x-investtrack-quote selects it.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new QuoteHttpMessageConverter());
+    }
+}
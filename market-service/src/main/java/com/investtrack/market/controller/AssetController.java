@@ -1,16 +1,27 @@
 package com.investtrack.market.controller;
 
 import com.investtrack.market.dto.AssetDTO;
+import com.investtrack.market.dto.BatchPriceUpdateDTO;
+import com.investtrack.market.dto.BatchPriceUpdateResponseDTO;
+import com.investtrack.market.dto.OhlcBarDTO;
+import com.investtrack.market.dto.PriceHistoryDTO;
+import com.investtrack.market.dto.PriceTickDTO;
 import com.investtrack.market.dto.PriceUpdateDTO;
 import com.investtrack.market.entity.Asset;
+import com.investtrack.market.history.PriceHistoryStore;
 import com.investtrack.market.service.AssetService;
+import com.investtrack.market.stream.PriceStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -23,6 +34,8 @@ import java.util.List;
 public class AssetController {
 
     private final AssetService assetService;
+    private final PriceStreamService priceStreamService;
+    private final PriceHistoryStore priceHistoryStore;
 
     /**
      * Get all assets
@@ -54,6 +67,59 @@ public class AssetController {
         return ResponseEntity.ok(asset);
     }
 
+    /**
+     * Get raw price ticks of a symbol in a time range (ISO-8601 instants, default last 24 hours)
+     * Continue a truncated page with from=nextFrom and skip=nextSkip
+     */
+    @GetMapping("/symbol/{symbol}/history")
+    public ResponseEntity<PriceHistoryDTO> getPriceHistory(
+            @PathVariable String symbol,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer skip,
+            @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/assets/symbol/{}/history - Fetching ticks from {} to {}", symbol, from, to);
+        PriceHistoryDTO history = priceHistoryStore.getTicks(symbol, from, to, skip, limit);
+        return ResponseEntity.ok(history);
+    }
+
+    /**
+     * Get OHLC bars of a symbol (interval 1m, 1h or 1d)
+     */
+    @GetMapping("/symbol/{symbol}/ohlc")
+    public ResponseEntity<List<OhlcBarDTO>> getOhlcBars(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "1h") String interval,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/assets/symbol/{}/ohlc - Fetching {} bars from {} to {}", symbol, interval, from, to);
+        List<OhlcBarDTO> bars = priceHistoryStore.getBars(symbol, interval, from, to, limit);
+        return ResponseEntity.ok(bars);
+    }
+
+    /**
+     * Get the price of a symbol as it was at a past instant
+     */
+    @GetMapping("/symbol/{symbol}/price-at")
+    public ResponseEntity<PriceTickDTO> getPriceAt(
+            @PathVariable String symbol,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant time) {
+        log.info("GET /api/assets/symbol/{}/price-at - Fetching price at {}", symbol, time);
+        PriceTickDTO tick = priceHistoryStore.getPriceAt(symbol, time);
+        return ResponseEntity.ok(tick);
+    }
+
+    /**
+     * Get quotes for many symbols in one call (results in requested order, unknown symbols omitted)
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<List<AssetDTO>> getQuotes(@RequestParam List<String> symbols) {
+        log.info("GET /api/assets/quotes - Fetching quotes for {} symbols", symbols.size());
+        List<AssetDTO> quotes = assetService.getAssetsBySymbols(symbols);
+        return ResponseEntity.ok(quotes);
+    }
+
     /**
      * Get assets by type
      */
@@ -64,6 +130,15 @@ public class AssetController {
         return ResponseEntity.ok(assets);
     }
 
+    /**
+     * Stream price ticks as Server-Sent Events (all symbols, or only those listed)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPrices(@RequestParam(required = false) List<String> symbols) {
+        log.info("GET /api/assets/stream - Opening price stream for {}", symbols == null ? "all symbols" : symbols);
+        return priceStreamService.subscribe(symbols);
+    }
+
     /**
      * Create new asset
      */
@@ -98,6 +173,17 @@ public class AssetController {
         return ResponseEntity.ok(updatedAsset);
     }
 
+    /**
+     * Update many asset prices at once (single transaction, JDBC batch)
+     */
+    @PatchMapping("/prices")
+    public ResponseEntity<BatchPriceUpdateResponseDTO> updateAssetPrices(
+            @Valid @RequestBody BatchPriceUpdateDTO batch) {
+        log.info("PATCH /api/assets/prices - Updating {} prices", batch.getUpdates().size());
+        BatchPriceUpdateResponseDTO response = assetService.updateAssetPrices(batch.getUpdates());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Delete asset
      */
@@ -33,6 +33,11 @@ public class AssetDTO {
     @NotNull(message = "Asset type is required")
     private Asset.AssetType type;
 
+    /**
+     * Per-asset price version, read-only; see {@link Asset#getPriceVersion()}
+     */
+    private long priceVersion;
+
     /**
      * Convert Entity to DTO
      */
@@ -42,7 +47,8 @@ public class AssetDTO {
             asset.getSymbol(),
             asset.getName(),
             asset.getCurrentPrice(),
-            asset.getType()
+            asset.getType(),
+            asset.getPriceVersion()
         );
     }
 
@@ -55,7 +61,8 @@ public class AssetDTO {
             this.symbol,
             this.name,
             this.currentPrice,
-            this.type
+            this.type,
+            0L
         );
     }
 }
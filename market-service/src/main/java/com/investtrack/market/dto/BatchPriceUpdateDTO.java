@@ -0,0 +1,21 @@
+package com.investtrack.market.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch Price Update Request DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPriceUpdateDTO {
+
+    @NotEmpty(message = "At least one price update is required")
+    private List<@Valid PriceUpdateItemDTO> updates;
+}
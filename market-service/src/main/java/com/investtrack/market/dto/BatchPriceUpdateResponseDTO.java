@@ -0,0 +1,23 @@
+package com.investtrack.market.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch Price Update Response DTO - Per-item results plus batch throughput
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPriceUpdateResponseDTO {
+    private int received;
+    private int applied;
+    private int coalesced;
+    private int rejected;
+    private long elapsedMillis;
+    private double updatesPerSecond;
+    private List<PriceUpdateResultDTO> results;
+}
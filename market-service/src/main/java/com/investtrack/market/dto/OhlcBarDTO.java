@@ -0,0 +1,22 @@
+package com.investtrack.market.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * OHLC Bar DTO - Open/high/low/close of one interval bucket (time = bucket start, epoch millis)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OhlcBarDTO {
+    private long time;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private int ticks;
+}
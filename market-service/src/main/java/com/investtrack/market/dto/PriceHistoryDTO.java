@@ -0,0 +1,27 @@
+package com.investtrack.market.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Price History DTO - Ticks of one symbol in columnar form (timestamps[i] pairs with prices[i])
+ * When nextFrom is set the range held more ticks; request again with from=nextFrom and skip=nextSkip
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryDTO {
+    private String symbol;
+    private long[] timestamps;
+    private List<BigDecimal> prices;
+    private Long nextFrom;
+
+    /**
+     * Ticks stamped nextFrom already returned; several ticks can share a millisecond
+     */
+    private int nextSkip;
+}
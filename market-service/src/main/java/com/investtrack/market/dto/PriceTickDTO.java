@@ -0,0 +1,20 @@
+package com.investtrack.market.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Price Tick DTO - One price change pushed to stream subscribers
+ * A null currentPrice means the asset was removed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceTickDTO {
+    private String symbol;
+    private BigDecimal currentPrice;
+    private long version;
+}
@@ -0,0 +1,26 @@
+package com.investtrack.market.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Price Update Item DTO - One entry of a batch price update, addressed by ID or symbol
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateItemDTO {
+
+    private Long id;
+
+    private String symbol;
+
+    @NotNull(message = "Price is required")
+    @Positive(message = "Price must be positive")
+    private BigDecimal currentPrice;
+}
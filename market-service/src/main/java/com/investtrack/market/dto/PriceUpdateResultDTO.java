@@ -0,0 +1,30 @@
+package com.investtrack.market.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Price Update Result DTO - Outcome of one entry of a batch price update
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateResultDTO {
+
+    private int index;
+    private Long id;
+    private String symbol;
+    private Status status;
+    private BigDecimal currentPrice;
+    private String message;
+
+    public enum Status {
+        APPLIED,
+        COALESCED,
+        NOT_FOUND,
+        INVALID
+    }
+}
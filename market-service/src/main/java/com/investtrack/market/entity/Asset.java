@@ -21,7 +21,8 @@ import java.math.BigDecimal;
 public class Asset {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_seq")
+    @SequenceGenerator(name = "asset_seq", sequenceName = "assets_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Symbol is required")
@@ -42,6 +43,12 @@ public class Asset {
     @Column(nullable = false, length = 20)
     private AssetType type;
 
+    /**
+     * Incremented by every price write; quotes and pushes carry it so subscribers can order them
+     */
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long priceVersion;
+
     public enum AssetType {
         STOCK,
         CRYPTO,
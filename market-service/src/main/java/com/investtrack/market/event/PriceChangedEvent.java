@@ -0,0 +1,31 @@
+package com.investtrack.market.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Price Changed Event - Published whenever an asset price is written or an asset is removed
+ * A null currentPrice means the asset no longer exists
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangedEvent {
+    private Long assetId;
+    private String symbol;
+    private BigDecimal currentPrice;
+
+    /**
+     * Price version of the asset after this change (same sequence as AssetDTO.priceVersion), used by
+     * subscribers to drop out-of-order pushes and loads
+     */
+    private long version;
+
+    /**
+     * Publish time (epoch millis), used as the tick time in the price history
+     */
+    private long timestamp;
+}
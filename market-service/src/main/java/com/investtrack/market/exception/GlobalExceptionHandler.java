@@ -60,6 +60,66 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    /**
+     * Handle RequestLimitExceededException
+     */
+    @ExceptionHandler(RequestLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRequestLimitExceededException(
+            RequestLimitExceededException ex,
+            HttpServletRequest request) {
+        log.error("Request limit exceeded: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Handle InvalidHistoryRequestException
+     */
+    @ExceptionHandler(InvalidHistoryRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidHistoryRequestException(
+            InvalidHistoryRequestException ex,
+            HttpServletRequest request) {
+        log.error("Invalid history request: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Handle StreamLimitExceededException
+     */
+    @ExceptionHandler(StreamLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleStreamLimitExceededException(
+            StreamLimitExceededException ex,
+            HttpServletRequest request) {
+        log.warn("Stream subscription rejected: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     /**
      * Handle validation errors
      */
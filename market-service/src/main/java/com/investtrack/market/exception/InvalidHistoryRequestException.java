@@ -0,0 +1,10 @@
+package com.investtrack.market.exception;
+
+/**
+ * Exception thrown when a price history query has an invalid range or interval
+ */
+public class InvalidHistoryRequestException extends RuntimeException {
+    public InvalidHistoryRequestException(String message) {
+        super(message);
+    }
+}
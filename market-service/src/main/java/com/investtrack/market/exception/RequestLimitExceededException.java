@@ -0,0 +1,10 @@
+package com.investtrack.market.exception;
+
+/**
+ * Exception thrown when a bulk request exceeds its configured size limit
+ */
+public class RequestLimitExceededException extends RuntimeException {
+    public RequestLimitExceededException(String message) {
+        super(message);
+    }
+}
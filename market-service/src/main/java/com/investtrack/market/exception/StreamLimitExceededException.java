@@ -0,0 +1,10 @@
+package com.investtrack.market.exception;
+
+/**
+ * Exception thrown when a price stream subscription cannot be accepted
+ */
+public class StreamLimitExceededException extends RuntimeException {
+    public StreamLimitExceededException(String message) {
+        super(message);
+    }
+}
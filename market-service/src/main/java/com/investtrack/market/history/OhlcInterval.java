@@ -0,0 +1,40 @@
+package com.investtrack.market.history;
+
+import com.investtrack.market.exception.InvalidHistoryRequestException;
+
+/**
+ * OHLC Interval - Rollup resolutions kept for every symbol
+ */
+public enum OhlcInterval {
+    ONE_MINUTE("1m", 60_000L),
+    ONE_HOUR("1h", 3_600_000L),
+    ONE_DAY("1d", 86_400_000L);
+
+    private final String code;
+    private final long millis;
+
+    OhlcInterval(String code, long millis) {
+        this.code = code;
+        this.millis = millis;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Resolve an interval from its code (1m, 1h, 1d)
+     */
+    public static OhlcInterval fromCode(String code) {
+        for (OhlcInterval interval : values()) {
+            if (interval.code.equalsIgnoreCase(code)) {
+                return interval;
+            }
+        }
+        throw new InvalidHistoryRequestException("Unsupported interval: " + code + " (use 1m, 1h or 1d)");
+    }
+}
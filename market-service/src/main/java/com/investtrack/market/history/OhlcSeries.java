@@ -0,0 +1,165 @@
+package com.investtrack.market.history;
+
+import java.util.Arrays;
+
+/**
+ * OHLC Series - Open/high/low/close bars of one symbol at one interval, stored column-wise
+ *
+ * Bars are kept in bucket order. A tick for the newest bucket updates it in place, a tick
+ * for a later bucket appends one, and a late tick updates (or inserts) its older bucket.
+ * Open and close follow tick time, not arrival order. When the series grows past its
+ * limit the oldest bars are dropped. Not thread-safe; guarded by {@link SymbolHistory}.
+ */
+final class OhlcSeries {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final long intervalMillis;
+    private final int maxBars;
+
+    private long[] bucketStarts = new long[INITIAL_CAPACITY];
+    private long[] opens = new long[INITIAL_CAPACITY];
+    private long[] highs = new long[INITIAL_CAPACITY];
+    private long[] lows = new long[INITIAL_CAPACITY];
+    private long[] closes = new long[INITIAL_CAPACITY];
+    private long[] openTimes = new long[INITIAL_CAPACITY];
+    private long[] closeTimes = new long[INITIAL_CAPACITY];
+    private int[] tickCounts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    OhlcSeries(long intervalMillis, int maxBars) {
+        this.intervalMillis = intervalMillis;
+        this.maxBars = maxBars;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(long timestamp, long price) {
+        long bucket = Math.floorDiv(timestamp, intervalMillis) * intervalMillis;
+
+        if (size > 0 && bucketStarts[size - 1] == bucket) {
+            update(size - 1, timestamp, price);
+            return;
+        }
+        if (size == 0 || bucketStarts[size - 1] < bucket) {
+            insert(size, bucket, timestamp, price);
+            return;
+        }
+
+        int index = Arrays.binarySearch(bucketStarts, 0, size, bucket);
+        if (index >= 0) {
+            update(index, timestamp, price);
+            return;
+        }
+        int position = -(index + 1);
+        if (position > 0 || size < maxBars) {
+            // A tick older than a full series is dropped rather than evicting newer bars
+            insert(position, bucket, timestamp, price);
+        }
+    }
+
+    /**
+     * First bar whose bucket starts at or after the given time
+     */
+    int lowerBound(long timestamp) {
+        long bucket = Math.floorDiv(timestamp, intervalMillis) * intervalMillis;
+        int index = Arrays.binarySearch(bucketStarts, 0, size, bucket);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    /**
+     * First bar whose bucket starts after the given time
+     */
+    int upperBound(long timestamp) {
+        int index = Arrays.binarySearch(bucketStarts, 0, size, timestamp);
+        return index >= 0 ? index + 1 : -(index + 1);
+    }
+
+    long bucketStart(int index) {
+        return bucketStarts[index];
+    }
+
+    long open(int index) {
+        return opens[index];
+    }
+
+    long high(int index) {
+        return highs[index];
+    }
+
+    long low(int index) {
+        return lows[index];
+    }
+
+    long close(int index) {
+        return closes[index];
+    }
+
+    int tickCount(int index) {
+        return tickCounts[index];
+    }
+
+    private void update(int index, long timestamp, long price) {
+        highs[index] = Math.max(highs[index], price);
+        lows[index] = Math.min(lows[index], price);
+        if (timestamp < openTimes[index]) {
+            opens[index] = price;
+            openTimes[index] = timestamp;
+        }
+        if (timestamp >= closeTimes[index]) {
+            closes[index] = price;
+            closeTimes[index] = timestamp;
+        }
+        tickCounts[index]++;
+    }
+
+    private void insert(int index, long bucket, long timestamp, long price) {
+        if (size == bucketStarts.length) {
+            grow();
+        }
+        if (index < size) {
+            shift(index, index + 1, size - index);
+        }
+        bucketStarts[index] = bucket;
+        opens[index] = price;
+        highs[index] = price;
+        lows[index] = price;
+        closes[index] = price;
+        openTimes[index] = timestamp;
+        closeTimes[index] = timestamp;
+        tickCounts[index] = 1;
+        size++;
+
+        if (size > maxBars) {
+            // Drop a tenth at once so trimming is amortised over many appends
+            int drop = Math.max(size - maxBars, maxBars / 10);
+            shift(drop, 0, size - drop);
+            size -= drop;
+        }
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(bucketStarts, from, bucketStarts, to, length);
+        System.arraycopy(opens, from, opens, to, length);
+        System.arraycopy(highs, from, highs, to, length);
+        System.arraycopy(lows, from, lows, to, length);
+        System.arraycopy(closes, from, closes, to, length);
+        System.arraycopy(openTimes, from, openTimes, to, length);
+        System.arraycopy(closeTimes, from, closeTimes, to, length);
+        System.arraycopy(tickCounts, from, tickCounts, to, length);
+    }
+
+    private void grow() {
+        int capacity = bucketStarts.length * 2;
+        bucketStarts = Arrays.copyOf(bucketStarts, capacity);
+        opens = Arrays.copyOf(opens, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        closes = Arrays.copyOf(closes, capacity);
+        openTimes = Arrays.copyOf(openTimes, capacity);
+        closeTimes = Arrays.copyOf(closeTimes, capacity);
+        tickCounts = Arrays.copyOf(tickCounts, capacity);
+    }
+}
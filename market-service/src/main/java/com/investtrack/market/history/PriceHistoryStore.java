@@ -0,0 +1,154 @@
+package com.investtrack.market.history;
+
+import com.investtrack.market.config.MarketConfig;
+import com.investtrack.market.dto.OhlcBarDTO;
+import com.investtrack.market.dto.PriceHistoryDTO;
+import com.investtrack.market.dto.PriceTickDTO;
+import com.investtrack.market.event.PriceChangedEvent;
+import com.investtrack.market.exception.AssetNotFoundException;
+import com.investtrack.market.exception.InvalidHistoryRequestException;
+import com.investtrack.market.exception.RequestLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Price History Store - Append-only, in-memory tick history with OHLC rollups
+ *
+ * Fed by committed price changes. Each symbol keeps its ticks in time partitions of
+ * primitive arrays (epoch-millis timestamps, prices scaled to 4 decimals) plus 1m/1h/1d
+ * bars that are updated as ticks arrive. History starts when the service starts and
+ * is bounded by the retention window and the per-interval bar limit.
+ */
+@Service
+@Slf4j
+public class PriceHistoryStore {
+
+    private static final long DEFAULT_RANGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final MarketConfig marketConfig;
+    private final Map<String, SymbolHistory> histories = new ConcurrentHashMap<>();
+    private final AtomicLong totalTicks = new AtomicLong();
+
+    private final Timer tickQueries;
+    private final Timer barQueries;
+    private final Timer pointQueries;
+
+    public PriceHistoryStore(MarketConfig marketConfig, MeterRegistry meterRegistry) {
+        this.marketConfig = marketConfig;
+        this.tickQueries = meterRegistry.timer("market.history.query", "type", "ticks");
+        this.barQueries = meterRegistry.timer("market.history.query", "type", "ohlc");
+        this.pointQueries = meterRegistry.timer("market.history.query", "type", "price-at");
+        Gauge.builder("market.history.ticks", totalTicks, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("market.history.symbols", histories, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Record a committed price change; a removed asset loses its history
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceChanged(PriceChangedEvent event) {
+        String symbol = event.getSymbol().toUpperCase();
+        if (event.getCurrentPrice() == null) {
+            SymbolHistory removed = histories.remove(symbol);
+            if (removed != null) {
+                totalTicks.addAndGet(-removed.tickCount());
+            }
+            return;
+        }
+        long delta = histories.computeIfAbsent(symbol, key -> new SymbolHistory(
+                        TimeUnit.MINUTES.toMillis(marketConfig.getHistoryPartitionMinutes()),
+                        TimeUnit.HOURS.toMillis(marketConfig.getHistoryRetentionHours()),
+                        marketConfig.getHistoryMaxBars()))
+                .record(event.getTimestamp(), ScaledPrice.toScaled(event.getCurrentPrice()));
+        totalTicks.addAndGet(delta);
+    }
+
+    /**
+     * Ticks of a symbol in [from, to] (defaults: the last 24 hours), oldest first
+     * skip leaves out that many ticks stamped exactly from (the nextSkip of the previous page)
+     */
+    public PriceHistoryDTO getTicks(String symbol, Instant from, Instant to, Integer skip, Integer limit) {
+        return tickQueries.record(() -> {
+            String key = symbol.toUpperCase();
+            long[] range = range(from, to);
+            if (skip != null && skip < 0) {
+                throw new InvalidHistoryRequestException("'skip' must not be negative");
+            }
+            SymbolHistory history = histories.get(key);
+            if (history == null) {
+                return new PriceHistoryDTO(key, new long[0], List.of(), null, 0);
+            }
+
+            SymbolHistory.TickRange ticks = history.ticks(range[0], range[1], skip == null ? 0 : skip,
+                    maxPoints(limit));
+            List<BigDecimal> prices = new ArrayList<>(ticks.prices().length);
+            for (long price : ticks.prices()) {
+                prices.add(ScaledPrice.toDecimal(price));
+            }
+            return new PriceHistoryDTO(key, ticks.timestamps(), prices, ticks.nextFrom(), ticks.nextSkip());
+        });
+    }
+
+    /**
+     * OHLC bars of a symbol whose bucket starts in [from, to] (defaults: the last 24 hours)
+     */
+    public List<OhlcBarDTO> getBars(String symbol, String interval, Instant from, Instant to, Integer limit) {
+        return barQueries.record(() -> {
+            OhlcInterval resolution = OhlcInterval.fromCode(interval);
+            long[] range = range(from, to);
+            SymbolHistory history = histories.get(symbol.toUpperCase());
+            if (history == null) {
+                return List.of();
+            }
+            return history.bars(resolution, range[0], range[1], maxPoints(limit));
+        });
+    }
+
+    /**
+     * Last recorded price of a symbol at or before the given time
+     */
+    public PriceTickDTO getPriceAt(String symbol, Instant time) {
+        return pointQueries.record(() -> {
+            String key = symbol.toUpperCase();
+            SymbolHistory history = histories.get(key);
+            long[] tick = history == null ? null : history.latestAtOrBefore(time.toEpochMilli());
+            if (tick == null) {
+                throw new AssetNotFoundException("No price history for symbol " + key + " at " + time);
+            }
+            return new PriceTickDTO(key, ScaledPrice.toDecimal(tick[1]), tick[0]);
+        });
+    }
+
+    private long[] range(Instant from, Instant to) {
+        long end = to != null ? to.toEpochMilli() : System.currentTimeMillis();
+        long start = from != null ? from.toEpochMilli() : end - DEFAULT_RANGE_MILLIS;
+        if (start > end) {
+            throw new InvalidHistoryRequestException("'from' must not be after 'to'");
+        }
+        return new long[]{start, end};
+    }
+
+    private int maxPoints(Integer limit) {
+        int max = marketConfig.getHistoryMaxPoints();
+        if (limit == null) {
+            return max;
+        }
+        if (limit <= 0 || limit > max) {
+            throw new RequestLimitExceededException(String.format("limit must be between 1 and %d", max));
+        }
+        return limit;
+    }
+}
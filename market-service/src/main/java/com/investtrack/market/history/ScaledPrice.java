@@ -0,0 +1,23 @@
+package com.investtrack.market.history;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Scaled Price - Prices held as longs with a fixed number of decimals
+ */
+final class ScaledPrice {
+
+    static final int SCALE = 4;
+
+    private ScaledPrice() {
+    }
+
+    static long toScaled(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal toDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE).stripTrailingZeros();
+    }
+}
@@ -0,0 +1,189 @@
+package com.investtrack.market.history;
+
+import com.investtrack.market.dto.OhlcBarDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Symbol History - Time-partitioned ticks and OHLC rollups of one symbol
+ *
+ * Ticks go into fixed-width partitions keyed by window start; whole partitions are
+ * dropped once they fall out of the retention window. Every tick also updates the
+ * 1m/1h/1d rollups, so bar queries never scan raw ticks.
+ */
+final class SymbolHistory {
+
+    private final long partitionMillis;
+    private final long retentionMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, TickPartition> partitions = new TreeMap<>();
+    private final Map<OhlcInterval, OhlcSeries> rollups = new EnumMap<>(OhlcInterval.class);
+    private long newest = Long.MIN_VALUE;
+    private long tickCount;
+
+    SymbolHistory(long partitionMillis, long retentionMillis, int maxBars) {
+        this.partitionMillis = partitionMillis;
+        this.retentionMillis = retentionMillis;
+        for (OhlcInterval interval : OhlcInterval.values()) {
+            rollups.put(interval, new OhlcSeries(interval.getMillis(), maxBars));
+        }
+    }
+
+    /**
+     * Record a tick and return the change in stored tick count (expired partitions are subtracted)
+     */
+    long record(long timestamp, long price) {
+        lock.writeLock().lock();
+        try {
+            if (newest != Long.MIN_VALUE && timestamp < newest - retentionMillis) {
+                return 0;
+            }
+            long start = Math.floorDiv(timestamp, partitionMillis) * partitionMillis;
+            partitions.computeIfAbsent(start, key -> new TickPartition(key, key + partitionMillis))
+                    .append(timestamp, price);
+            for (OhlcSeries series : rollups.values()) {
+                series.add(timestamp, price);
+            }
+            newest = Math.max(newest, timestamp);
+            tickCount++;
+            return 1 - expire();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long tickCount() {
+        lock.readLock().lock();
+        try {
+            return tickCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ticks with from &lt;= timestamp &lt;= to, oldest first, at most max of them, leaving out the first
+     * skip ticks stamped exactly from
+     *
+     * Ticks sharing a timestamp keep their arrival order (a late tick goes after the ones already
+     * stored), so (timestamp, skip) names one position that stays valid across calls.
+     */
+    TickRange ticks(long from, long to, int skip, int max) {
+        lock.readLock().lock();
+        try {
+            Collection<TickPartition> candidates = overlapping(from, to);
+
+            int total = 0;
+            for (TickPartition partition : candidates) {
+                total += partition.upperBound(to) - firstIndex(partition, from, skip);
+                if (total > max) {
+                    break;
+                }
+            }
+
+            int count = Math.min(total, max);
+            long[] timestamps = new long[count];
+            long[] prices = new long[count];
+            int copied = 0;
+            Long nextFrom = null;
+            int nextSkip = 0;
+            for (TickPartition partition : candidates) {
+                int low = firstIndex(partition, from, skip);
+                int high = partition.upperBound(to);
+                int take = Math.min(high - low, count - copied);
+                partition.copy(low, low + take, timestamps, prices, copied);
+                copied += take;
+                if (low + take < high) {
+                    // All ticks of one timestamp live in the same partition
+                    long next = partition.timestampAt(low + take);
+                    nextFrom = next;
+                    nextSkip = low + take - partition.lowerBound(next);
+                    break;
+                }
+            }
+            return new TickRange(timestamps, prices, nextFrom, nextSkip);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Latest tick at or before the given time, as {timestamp, price}, or null if none
+     */
+    long[] latestAtOrBefore(long timestamp) {
+        lock.readLock().lock();
+        try {
+            for (TickPartition partition : partitions.headMap(timestamp, true).descendingMap().values()) {
+                int index = partition.upperBound(timestamp) - 1;
+                if (index >= 0) {
+                    return new long[]{partition.timestampAt(index), partition.priceAt(index)};
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bars whose bucket starts within [from, to], oldest first, at most max of them
+     */
+    List<OhlcBarDTO> bars(OhlcInterval interval, long from, long to, int max) {
+        lock.readLock().lock();
+        try {
+            OhlcSeries series = rollups.get(interval);
+            int low = series.lowerBound(from);
+            int high = Math.min(series.upperBound(to), low + max);
+            List<OhlcBarDTO> bars = new ArrayList<>(Math.max(high - low, 0));
+            for (int i = low; i < high; i++) {
+                bars.add(new OhlcBarDTO(
+                        series.bucketStart(i),
+                        ScaledPrice.toDecimal(series.open(i)),
+                        ScaledPrice.toDecimal(series.high(i)),
+                        ScaledPrice.toDecimal(series.low(i)),
+                        ScaledPrice.toDecimal(series.close(i)),
+                        series.tickCount(i)));
+            }
+            return bars;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index of the first tick at or after from, past the first skip ticks stamped exactly from
+     */
+    private static int firstIndex(TickPartition partition, long from, int skip) {
+        int low = partition.lowerBound(from);
+        return skip > 0 ? Math.min(low + skip, partition.upperBound(from)) : low;
+    }
+
+    private Collection<TickPartition> overlapping(long from, long to) {
+        long firstStart = Math.floorDiv(from, partitionMillis) * partitionMillis;
+        return partitions.subMap(firstStart, true, to, true).values();
+    }
+
+    private long expire() {
+        long cutoff = newest - retentionMillis;
+        long dropped = 0;
+        while (!partitions.isEmpty() && partitions.firstEntry().getValue().end() <= cutoff) {
+            dropped += partitions.pollFirstEntry().getValue().size();
+        }
+        tickCount -= dropped;
+        return dropped;
+    }
+
+    /**
+     * Columnar slice of ticks; nextFrom is set when more ticks remain in the requested range,
+     * and nextSkip counts the ticks stamped nextFrom that were already returned
+     */
+    record TickRange(long[] timestamps, long[] prices, Long nextFrom, int nextSkip) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.investtrack.market.history;
+
+import java.util.Arrays;
+
+/**
+ * Tick Partition - Ticks of one symbol within one time window, stored column-wise
+ *
+ * Timestamps and scaled prices live in two parallel primitive arrays kept in timestamp
+ * order, so range lookups are two binary searches and copies are plain array copies.
+ * Not thread-safe; guarded by the owning {@link SymbolHistory}.
+ */
+final class TickPartition {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final long start;
+    private final long end;
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private int size;
+
+    TickPartition(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    long start() {
+        return start;
+    }
+
+    long end() {
+        return end;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Append a tick; a late tick is inserted at its position so the arrays stay ordered
+     */
+    void append(long timestamp, long price) {
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            prices = Arrays.copyOf(prices, size * 2);
+        }
+        int position = size == 0 || timestamp >= timestamps[size - 1] ? size : upperBound(timestamp);
+        if (position < size) {
+            System.arraycopy(timestamps, position, timestamps, position + 1, size - position);
+            System.arraycopy(prices, position, prices, position + 1, size - position);
+        }
+        timestamps[position] = timestamp;
+        prices[position] = price;
+        size++;
+    }
+
+    /**
+     * First index whose timestamp is &gt;= the given one
+     */
+    int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose timestamp is &gt; the given one
+     */
+    int upperBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long timestampAt(int index) {
+        return timestamps[index];
+    }
+
+    long priceAt(int index) {
+        return prices[index];
+    }
+
+    /**
+     * Copy ticks [fromIndex, toIndex) into the output columns starting at offset
+     */
+    void copy(int fromIndex, int toIndex, long[] outTimestamps, long[] outPrices, int offset) {
+        System.arraycopy(timestamps, fromIndex, outTimestamps, offset, toIndex - fromIndex);
+        System.arraycopy(prices, fromIndex, outPrices, offset, toIndex - fromIndex);
+    }
+}
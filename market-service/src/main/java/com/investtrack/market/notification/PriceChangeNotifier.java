@@ -0,0 +1,176 @@
+package com.investtrack.market.notification;
+
+import com.investtrack.market.config.MarketConfig;
+import com.investtrack.market.event.PriceChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Price Change Notifier - Pushes committed price changes to every registered subscriber instance
+ * so that downstream caches can be refreshed without polling
+ *
+ * Changes wait in a bounded queue and are dispatched one at a time, so each instance sees them in
+ * commit order. A change is posted to all instances in parallel; a slow instance costs at most the
+ * push timeout per change instead of delaying the others. When the queue is full the change is
+ * dropped: subscribers order pushes by price version and fall back to their cache TTL.
+ */
+@Component
+@Slf4j
+public class PriceChangeNotifier {
+
+    /**
+     * Header carrying the shared internal token expected by subscribers
+     */
+    static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final DiscoveryClient discoveryClient;
+    private final MarketConfig marketConfig;
+    private final RestTemplate restTemplate;
+    private final long targetTimeoutMs;
+
+    private final ThreadPoolExecutor dispatcher;
+    private final ThreadPoolExecutor fanOut;
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter timedOut;
+    private final Counter dropped;
+
+    public PriceChangeNotifier(DiscoveryClient discoveryClient,
+                               MarketConfig marketConfig,
+                               RestTemplateBuilder restTemplateBuilder,
+                               MeterRegistry meterRegistry) {
+        this.discoveryClient = discoveryClient;
+        this.marketConfig = marketConfig;
+        Duration timeout = Duration.ofMillis(marketConfig.getPricePushTimeoutMs());
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(timeout)
+                .setReadTimeout(timeout)
+                .build();
+        // Connect and read are bounded separately
+        this.targetTimeoutMs = 2 * marketConfig.getPricePushTimeoutMs();
+
+        int capacity = marketConfig.getPricePushQueueCapacity();
+        int parallelism = marketConfig.getPricePushParallelism();
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), daemonThreads("price-push"));
+        this.fanOut = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), daemonThreads("price-push-target"));
+
+        this.sent = pushCounter(meterRegistry, "sent");
+        this.failed = pushCounter(meterRegistry, "failed");
+        this.timedOut = pushCounter(meterRegistry, "timeout");
+        this.dropped = pushCounter(meterRegistry, "dropped");
+        Gauge.builder("market.price.push.queue.size", dispatcher, executor -> executor.getQueue().size())
+                .description("Price changes waiting to be pushed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a price change once its transaction has committed; the writer never waits on subscribers
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceChanged(PriceChangedEvent event) {
+        try {
+            dispatcher.execute(() -> push(event));
+        } catch (RejectedExecutionException ex) {
+            dropped.increment();
+            log.warn("Price push queue full, dropped change for {} (version {})", event.getSymbol(), event.getVersion());
+        }
+    }
+
+    private void push(PriceChangedEvent event) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!marketConfig.getPricePushToken().isEmpty()) {
+            headers.set(TOKEN_HEADER, marketConfig.getPricePushToken());
+        }
+        HttpEntity<PriceChangedEvent> request = new HttpEntity<>(event, headers);
+
+        List<ServiceInstance> instances = new ArrayList<>();
+        for (String serviceId : marketConfig.getPricePushSubscribers()) {
+            instances.addAll(discoveryClient.getInstances(serviceId));
+        }
+
+        List<CompletableFuture<Void>> posts = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            String url = instance.getUri() + marketConfig.getPricePushPath();
+            try {
+                posts.add(CompletableFuture.runAsync(() -> restTemplate.postForEntity(url, request, Void.class), fanOut));
+            } catch (RejectedExecutionException ex) {
+                dropped.increment();
+                log.warn("Price push for {} to {} dropped, all push threads busy", event.getSymbol(), instance.getUri());
+                posts.add(null);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(targetTimeoutMs);
+        for (int i = 0; i < posts.size(); i++) {
+            CompletableFuture<Void> post = posts.get(i);
+            if (post != null) {
+                await(post, deadline, event, instances.get(i));
+            }
+        }
+    }
+
+    private void await(CompletableFuture<Void> post, long deadline, PriceChangedEvent event, ServiceInstance instance) {
+        try {
+            post.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            sent.increment();
+        } catch (TimeoutException ex) {
+            // The post keeps its own connect/read timeouts; stop waiting so the next change is not held up
+            timedOut.increment();
+            log.warn("Price push for {} to {} timed out after {} ms", event.getSymbol(), instance.getUri(), targetTimeoutMs);
+        } catch (ExecutionException ex) {
+            failed.increment();
+            log.warn("Price push for {} to {} failed: {}", event.getSymbol(), instance.getUri(), ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+        fanOut.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Counter pushCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("market.price.push")
+                .description("Price change pushes to subscriber instances")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,9 +1,14 @@
 package com.investtrack.market.repository;
 
 import com.investtrack.market.entity.Asset;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +18,23 @@ import java.util.Optional;
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
 
+    /**
+     * Find asset by ID and lock its row until the transaction ends, so price versions are assigned in commit order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Asset a WHERE a.id = :id")
+    Optional<Asset> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Find asset by symbol
      */
     Optional<Asset> findBySymbol(String symbol);
 
+    /**
+     * Find all assets whose symbol is in the given set (single IN query)
+     */
+    List<Asset> findBySymbolIn(Collection<String> symbols);
+
     /**
      * Find all assets by type
      */
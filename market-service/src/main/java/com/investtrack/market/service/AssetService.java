@@ -1,17 +1,35 @@
 package com.investtrack.market.service;
 
+import com.investtrack.market.config.MarketConfig;
 import com.investtrack.market.dto.AssetDTO;
+import com.investtrack.market.dto.BatchPriceUpdateResponseDTO;
+import com.investtrack.market.dto.PriceUpdateItemDTO;
+import com.investtrack.market.dto.PriceUpdateResultDTO;
 import com.investtrack.market.entity.Asset;
+import com.investtrack.market.event.PriceChangedEvent;
 import com.investtrack.market.exception.AssetAlreadyExistsException;
 import com.investtrack.market.exception.AssetNotFoundException;
+import com.investtrack.market.exception.RequestLimitExceededException;
 import com.investtrack.market.repository.AssetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +42,9 @@ import java.util.stream.Collectors;
 public class AssetService {
 
     private final AssetRepository assetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final MarketConfig marketConfig;
 
     /**
      * Get all assets
@@ -59,6 +80,40 @@ public class AssetService {
         return AssetDTO.fromEntity(asset);
     }
 
+    /**
+     * Get quotes for many symbols with one query
+     * Results follow the requested order; duplicates are answered once and unknown symbols are left out
+     */
+    @Transactional(readOnly = true)
+    public List<AssetDTO> getAssetsBySymbols(List<String> symbols) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                requested.add(symbol.trim().toUpperCase());
+            }
+        }
+        if (requested.size() > marketConfig.getQuotesMaxSymbols()) {
+            throw new RequestLimitExceededException(String.format(
+                    "Quote request contains %d symbols (max %d)", requested.size(), marketConfig.getQuotesMaxSymbols()));
+        }
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+
+        log.info("Fetching quotes for {} symbols", requested.size());
+        Map<String, Asset> assetsBySymbol = assetRepository.findBySymbolIn(requested).stream()
+                .collect(Collectors.toMap(Asset::getSymbol, Function.identity()));
+
+        List<AssetDTO> quotes = new ArrayList<>(assetsBySymbol.size());
+        for (String symbol : requested) {
+            Asset asset = assetsBySymbol.get(symbol);
+            if (asset != null) {
+                quotes.add(AssetDTO.fromEntity(asset));
+            }
+        }
+        return quotes;
+    }
+
     /**
      * Get assets by type
      */
@@ -96,15 +151,18 @@ public class AssetService {
     public AssetDTO updateAsset(Long id, AssetDTO assetDTO) {
         log.info("Updating asset ID: {}", id);
         
-        Asset existingAsset = assetRepository.findById(id)
+        Asset existingAsset = assetRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new AssetNotFoundException("Asset not found with ID: " + id));
 
         // Update fields
         existingAsset.setName(assetDTO.getName());
         existingAsset.setCurrentPrice(assetDTO.getCurrentPrice());
         existingAsset.setType(assetDTO.getType());
+        existingAsset.setPriceVersion(existingAsset.getPriceVersion() + 1);
 
         Asset updatedAsset = assetRepository.save(existingAsset);
+        publishPriceChange(updatedAsset.getId(), updatedAsset.getSymbol(), updatedAsset.getCurrentPrice(),
+                updatedAsset.getPriceVersion());
         log.info("Asset updated successfully: {}", updatedAsset.getSymbol());
         
         return AssetDTO.fromEntity(updatedAsset);
@@ -116,27 +174,143 @@ public class AssetService {
     public AssetDTO updateAssetPrice(Long id, BigDecimal newPrice) {
         log.info("Updating price for asset ID: {} to {}", id, newPrice);
         
-        Asset asset = assetRepository.findById(id)
+        Asset asset = assetRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new AssetNotFoundException("Asset not found with ID: " + id));
 
         asset.setCurrentPrice(newPrice);
+        asset.setPriceVersion(asset.getPriceVersion() + 1);
         Asset updatedAsset = assetRepository.save(asset);
+        publishPriceChange(updatedAsset.getId(), updatedAsset.getSymbol(), updatedAsset.getCurrentPrice(),
+                updatedAsset.getPriceVersion());
         
         log.info("Price updated successfully for {}", updatedAsset.getSymbol());
         return AssetDTO.fromEntity(updatedAsset);
     }
 
+    /**
+     * Update many asset prices in a single transaction
+     * Entries resolving to the same asset are coalesced to the last one, and the
+     * survivors are written with one JDBC batch statement
+     */
+    public BatchPriceUpdateResponseDTO updateAssetPrices(List<PriceUpdateItemDTO> updates) {
+        if (updates.size() > marketConfig.getPriceBatchMaxSize()) {
+            throw new RequestLimitExceededException(String.format(
+                    "Batch contains %d price updates (max %d)", updates.size(), marketConfig.getPriceBatchMaxSize()));
+        }
+
+        long start = System.nanoTime();
+        log.info("Applying batch of {} price updates", updates.size());
+
+        // Resolve all referenced assets with one query per key kind
+        Set<Long> ids = new HashSet<>();
+        Set<String> symbols = new HashSet<>();
+        for (PriceUpdateItemDTO item : updates) {
+            if (item.getId() != null) {
+                ids.add(item.getId());
+            } else if (item.getSymbol() != null && !item.getSymbol().isBlank()) {
+                symbols.add(item.getSymbol().toUpperCase());
+            }
+        }
+        Map<Long, Asset> assetsById = assetRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Asset::getId, Function.identity()));
+        Map<String, Asset> assetsBySymbol = symbols.isEmpty()
+                ? Map.of()
+                : assetRepository.findBySymbolIn(symbols).stream()
+                        .collect(Collectors.toMap(Asset::getSymbol, Function.identity()));
+
+        // Keep only the last entry per asset
+        PriceUpdateResultDTO[] results = new PriceUpdateResultDTO[updates.size()];
+        Map<Long, Integer> lastEntryByAsset = new LinkedHashMap<>();
+        Map<Long, Asset> touchedAssets = new LinkedHashMap<>();
+        int coalesced = 0;
+        int rejected = 0;
+
+        for (int i = 0; i < updates.size(); i++) {
+            PriceUpdateItemDTO item = updates.get(i);
+            if (item.getId() == null && (item.getSymbol() == null || item.getSymbol().isBlank())) {
+                results[i] = new PriceUpdateResultDTO(i, null, null, PriceUpdateResultDTO.Status.INVALID,
+                        item.getCurrentPrice(), "Either id or symbol is required");
+                rejected++;
+                continue;
+            }
+
+            Asset asset = item.getId() != null
+                    ? assetsById.get(item.getId())
+                    : assetsBySymbol.get(item.getSymbol().toUpperCase());
+            if (asset == null) {
+                results[i] = new PriceUpdateResultDTO(i, item.getId(), item.getSymbol(),
+                        PriceUpdateResultDTO.Status.NOT_FOUND, item.getCurrentPrice(), "Asset not found");
+                rejected++;
+                continue;
+            }
+
+            Integer superseded = lastEntryByAsset.put(asset.getId(), i);
+            if (superseded != null) {
+                results[superseded].setStatus(PriceUpdateResultDTO.Status.COALESCED);
+                results[superseded].setMessage("Superseded by entry " + i);
+                coalesced++;
+            }
+            touchedAssets.put(asset.getId(), asset);
+            results[i] = new PriceUpdateResultDTO(i, asset.getId(), asset.getSymbol(),
+                    PriceUpdateResultDTO.Status.APPLIED, item.getCurrentPrice(), null);
+        }
+
+        // Rows are written in ascending id order, so two overlapping batches lock them in the same order
+        // and cannot deadlock; results stay in request order
+        List<Object[]> batchArgs = new ArrayList<>(lastEntryByAsset.size());
+        new TreeMap<>(lastEntryByAsset).forEach((assetId, index) ->
+                batchArgs.add(new Object[]{updates.get(index).getCurrentPrice(), assetId}));
+        Map<Long, Long> versions = new HashMap<>();
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE assets SET current_price = ?, price_version = price_version + 1 WHERE id = ?", batchArgs);
+            // The updated rows stay locked until commit, so these are the versions this batch wrote
+            NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+            named.query("SELECT id, price_version FROM assets WHERE id IN (:ids)",
+                    Map.of("ids", lastEntryByAsset.keySet()),
+                    rs -> {
+                        versions.put(rs.getLong(1), rs.getLong(2));
+                    });
+        }
+
+        lastEntryByAsset.forEach((assetId, index) ->
+                publishPriceChange(assetId, touchedAssets.get(assetId).getSymbol(), updates.get(index).getCurrentPrice(),
+                        versions.getOrDefault(assetId, 0L)));
+
+        long elapsedNanos = System.nanoTime() - start;
+        double updatesPerSecond = elapsedNanos > 0 ? updates.size() * 1_000_000_000d / elapsedNanos : 0d;
+        log.info("Batch price update done: {} received, {} applied, {} coalesced, {} rejected in {} ms",
+                updates.size(), batchArgs.size(), coalesced, rejected, elapsedNanos / 1_000_000);
+
+        return new BatchPriceUpdateResponseDTO(
+                updates.size(),
+                batchArgs.size(),
+                coalesced,
+                rejected,
+                elapsedNanos / 1_000_000,
+                updatesPerSecond,
+                List.of(results)
+        );
+    }
+
     /**
      * Delete asset
      */
     public void deleteAsset(Long id) {
         log.info("Deleting asset ID: {}", id);
         
-        if (!assetRepository.existsById(id)) {
-            throw new AssetNotFoundException("Asset not found with ID: " + id);
-        }
+        Asset asset = assetRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new AssetNotFoundException("Asset not found with ID: " + id));
 
-        assetRepository.deleteById(id);
+        assetRepository.delete(asset);
+        publishPriceChange(asset.getId(), asset.getSymbol(), null, asset.getPriceVersion() + 1);
         log.info("Asset deleted successfully");
     }
+
+    /**
+     * Publish a price change; subscribers are notified after the transaction commits
+     */
+    private void publishPriceChange(Long id, String symbol, BigDecimal price, long priceVersion) {
+        eventPublisher.publishEvent(new PriceChangedEvent(id, symbol, price, priceVersion, System.currentTimeMillis()));
+    }
 }
@@ -0,0 +1,297 @@
+package com.investtrack.market.stream;
+
+import com.investtrack.market.config.MarketConfig;
+import com.investtrack.market.dto.PriceTickDTO;
+import com.investtrack.market.event.PriceChangedEvent;
+import com.investtrack.market.exception.StreamLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Price Stream Service - Fans committed price ticks out to Server-Sent Event subscribers
+ *
+ * Each subscriber keeps at most one pending tick per symbol: a newer tick replaces an
+ * undelivered older one, so a slow consumer sees the latest price instead of a growing
+ * backlog. Delivery for a subscriber is serialized and only one drain runs at a time,
+ * which bounds memory per subscriber to the number of symbols it follows.
+ *
+ * Writes block while the client's socket buffer is full. A watchdog drops any subscriber whose
+ * current write has taken longer than the write timeout and interrupts the stuck dispatch thread;
+ * until that write returns, the pool runs one extra thread so other subscribers keep their
+ * full dispatch capacity. Heartbeats go through the same path.
+ */
+@Service
+@Slf4j
+public class PriceStreamService {
+
+    private final MarketConfig marketConfig;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final long writeTimeoutNanos;
+
+    private final Counter ticksDelivered;
+    private final Counter ticksCoalesced;
+    private final Counter slowSubscribersDropped;
+
+    public PriceStreamService(MarketConfig marketConfig, MeterRegistry meterRegistry) {
+        this.marketConfig = marketConfig;
+        AtomicInteger threadCount = new AtomicInteger();
+        int dispatchThreads = marketConfig.getStreamDispatchThreads();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "price-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeats,
+                marketConfig.getStreamHeartbeatMs(), marketConfig.getStreamHeartbeatMs(), TimeUnit.MILLISECONDS);
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(marketConfig.getStreamWriteTimeoutMs());
+        long checkEveryMs = Math.max(marketConfig.getStreamWriteTimeoutMs() / 4, 10L);
+        this.heartbeat.scheduleWithFixedDelay(this::dropStalledSubscribers,
+                checkEveryMs, checkEveryMs, TimeUnit.MILLISECONDS);
+
+        this.ticksDelivered = meterRegistry.counter("market.stream.ticks", "result", "delivered");
+        this.ticksCoalesced = meterRegistry.counter("market.stream.ticks", "result", "coalesced");
+        this.slowSubscribersDropped = meterRegistry.counter("market.stream.subscribers.dropped", "reason", "write-timeout");
+        Gauge.builder("market.stream.subscribers", subscriptions, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Open a new stream; an empty symbol set subscribes to every asset
+     */
+    public SseEmitter subscribe(Collection<String> symbols) {
+        Set<String> filter = symbols == null ? Set.of() : symbols.stream()
+                .map(String::trim)
+                .filter(symbol -> !symbol.isEmpty())
+                .map(String::toUpperCase)
+                .collect(Collectors.toUnmodifiableSet());
+
+        if (filter.size() > marketConfig.getStreamMaxSymbols()) {
+            throw new StreamLimitExceededException(
+                    "Too many symbols requested: " + filter.size() + " (max " + marketConfig.getStreamMaxSymbols() + ")");
+        }
+        if (subscriptions.size() >= marketConfig.getStreamMaxSubscribers()) {
+            throw new StreamLimitExceededException("Price stream subscriber limit reached. Please try again later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(marketConfig.getStreamTimeoutMs());
+        Subscription subscription = new Subscription(emitter, filter);
+        subscriptions.add(subscription);
+
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(ex -> subscriptions.remove(subscription));
+
+        log.info("Price stream opened for {} (active subscribers: {})",
+                filter.isEmpty() ? "all symbols" : filter, subscriptions.size());
+        return emitter;
+    }
+
+    /**
+     * Route a committed price change to every interested subscriber
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceChanged(PriceChangedEvent event) {
+        PriceTickDTO tick = new PriceTickDTO(event.getSymbol(), event.getCurrentPrice(), event.getVersion());
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accepts(tick.getSymbol())) {
+                subscription.offer(tick);
+            }
+        }
+    }
+
+    /**
+     * Queue a keep-alive on every subscriber; it is written by the dispatcher like a tick
+     */
+    private void sendHeartbeats() {
+        for (Subscription subscription : subscriptions) {
+            subscription.heartbeatDue.set(true);
+            subscription.scheduleDrain();
+        }
+    }
+
+    /**
+     * Drop subscribers stuck in one write for longer than the write timeout; never touches the
+     * emitter, whose lock the stuck write holds
+     */
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.abandonIfStalled(now)) {
+                subscriptions.remove(subscription);
+                subscription.pending.clear();
+                slowSubscribersDropped.increment();
+                resizeDispatcher(1);
+                log.warn("Dropping price stream subscriber: write blocked for more than {} ms",
+                        marketConfig.getStreamWriteTimeoutMs());
+            }
+        }
+    }
+
+    /**
+     * Grow the pool while a dropped subscriber's write still occupies a thread, shrink it once the write returns
+     */
+    private synchronized void resizeDispatcher(int delta) {
+        int size = dispatcher.getCorePoolSize() + delta;
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    /**
+     * One connected client with its per-symbol pending ticks
+     */
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Set<String> symbols;
+        private final Map<String, PriceTickDTO> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        // Guarded by this: the thread currently inside emitter.send and when it entered
+        private Thread sender;
+        private long sendStartedAt;
+        private boolean stalled;
+
+        private Subscription(SseEmitter emitter, Set<String> symbols) {
+            this.emitter = emitter;
+            this.symbols = symbols;
+        }
+
+        private boolean accepts(String symbol) {
+            return symbols.isEmpty() || symbols.contains(symbol);
+        }
+
+        private void offer(PriceTickDTO tick) {
+            if (pending.put(tick.getSymbol(), tick) != null) {
+                ticksCoalesced.increment();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (Exception ex) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                for (String symbol : pending.keySet()) {
+                    PriceTickDTO tick = pending.remove(symbol);
+                    if (tick != null) {
+                        send(SseEmitter.event()
+                                .id(String.valueOf(tick.getVersion()))
+                                .name(tick.getCurrentPrice() == null ? "removed" : "price")
+                                .data(tick));
+                        ticksDelivered.increment();
+                        // Any event keeps the connection alive
+                        heartbeatDue.set(false);
+                    }
+                }
+                if (heartbeatDue.compareAndSet(true, false)) {
+                    send(SseEmitter.event().comment("keep-alive"));
+                }
+            } catch (Exception ex) {
+                log.debug("Dropping price stream subscriber: {}", ex.getMessage());
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * Write one event while the watchdog can see how long it has been blocked
+         */
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                if (stalled) {
+                    throw new IOException("Subscriber dropped after a write timeout");
+                }
+                sender = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            boolean timedOut;
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                    timedOut = stalled;
+                }
+                if (timedOut) {
+                    // The watchdog interrupted this thread and added one to the pool in its place
+                    Thread.interrupted();
+                    resizeDispatcher(-1);
+                }
+            }
+            if (timedOut) {
+                throw new IOException("Write blocked for more than the write timeout");
+            }
+        }
+
+        /**
+         * Mark the subscriber stalled and interrupt its writer when the current write is older than the timeout
+         */
+        private synchronized boolean abandonIfStalled(long now) {
+            if (sender == null || stalled || now - sendStartedAt < writeTimeoutNanos) {
+                return false;
+            }
+            stalled = true;
+            sender.interrupt();
+            return true;
+        }
+
+        private void close() {
+            subscriptions.remove(this);
+            pending.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.investtrack.market.wire;
+
+import com.investtrack.market.dto.AssetDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Quote HTTP Message Converter - Writes AssetDTO and List&lt;AssetDTO&gt; bodies in the quote wire format
+ * Only used when the client asks for application/x-investtrack-quote; write-only.
+ */
+public class QuoteHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public QuoteHttpMessageConverter() {
+        super(QuoteWireFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AssetDTO.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isQuoteType(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        List<AssetDTO> assets = body instanceof AssetDTO asset ? List.of(asset) : castList(body);
+        outputMessage.getBody().write(QuoteWireFormat.encode(assets));
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The quote wire format is write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The quote wire format is write-only", inputMessage);
+    }
+
+    private static boolean isQuoteType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return AssetDTO.class.isAssignableFrom(clazz);
+        }
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == AssetDTO.class;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AssetDTO> castList(Object body) {
+        return (List<AssetDTO>) body;
+    }
+}
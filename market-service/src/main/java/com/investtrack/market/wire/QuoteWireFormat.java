@@ -0,0 +1,121 @@
+package com.investtrack.market.wire;
+
+import com.investtrack.market.dto.AssetDTO;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Quote Wire Format - Compact binary encoding of asset quotes for the internal wallet -> market hop
+ *
+ * Schema, version 2 (wallet-service's decoder mirrors it):
+ * <pre>
+ *   message := 'I' 'Q' version:u8 count:varint asset{count}
+ *   asset   := id:varint symbol:str name:str price:decimal type:str priceVersion:varint
+ *   str     := (length + 1):varint UTF-8 bytes        -- 0 = null
+ *   decimal := (scale + 1):varint unscaled:zigzag    -- scale + 1 = 0 = null, no unscaled follows
+ *   id      := (id + 1):varint                       -- 0 = null
+ * </pre>
+ * Varints are unsigned LEB128. A single asset is sent as a message with count 1.
+ * Version 1 is the same without priceVersion.
+ */
+public final class QuoteWireFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-investtrack-quote";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    static final byte MAGIC_0 = 'I';
+    static final byte MAGIC_1 = 'Q';
+    static final byte VERSION = 2;
+
+    private QuoteWireFormat() {
+    }
+
+    /**
+     * Encode assets as one message
+     */
+    public static byte[] encode(List<AssetDTO> assets) {
+        Sink sink = new Sink(16 + assets.size() * 40);
+        sink.put(MAGIC_0);
+        sink.put(MAGIC_1);
+        sink.put(VERSION);
+        sink.putVarint(assets.size());
+        for (AssetDTO asset : assets) {
+            sink.putVarint(asset.getId() == null ? 0 : asset.getId() + 1);
+            sink.putString(asset.getSymbol());
+            sink.putString(asset.getName());
+            sink.putDecimal(asset.getCurrentPrice());
+            sink.putString(asset.getType() == null ? null : asset.getType().name());
+            sink.putVarint(asset.getPriceVersion());
+        }
+        return sink.toByteArray();
+    }
+
+    /**
+     * Growable byte buffer with the primitive encodings of the schema
+     */
+    private static final class Sink {
+
+        private byte[] buffer;
+        private int length;
+
+        Sink(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void put(byte value) {
+            ensure(1);
+            buffer[length++] = value;
+        }
+
+        void putVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length + 1L);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        void putDecimal(BigDecimal value) {
+            if (value == null) {
+                putVarint(0);
+                return;
+            }
+            if (value.scale() < 0) {
+                value = value.setScale(0);
+            }
+            if (value.unscaledValue().bitLength() > 63) {
+                throw new IllegalArgumentException("Price " + value + " does not fit the quote wire format");
+            }
+            long unscaled = value.unscaledValue().longValue();
+            putVarint(value.scale() + 1L);
+            putVarint((unscaled << 1) ^ (unscaled >> 63));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.investtrack.market.wire;
+
+import com.investtrack.market.dto.AssetDTO;
+import com.investtrack.market.entity.Asset;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The encoder must produce exactly the golden message; wallet-service's QuoteWireFormatTest decodes the same bytes
+ */
+class QuoteWireFormatTest {
+
+    /**
+     * Version 2 message with three assets:
+     * BTC (all fields), SGE (null id, price and type, non-ASCII name), GOLD (null name, price 1E+3)
+     * Keep in sync with wallet-service's QuoteWireFormatTest.
+     */
+    static final byte[] GOLDEN = HexFormat.of().parseHex(
+            "4951" + "02" + "03"
+                    + "02" + "04425443" + "08426974636f696e" + "03" + "c0a8a504" + "0743525950544f" + "07"
+                    + "00" + "04534745" + "19536f6369c3a974c3a92047c3a96ec3a972616c6520e282ac" + "00" + "00" + "00"
+                    + "04" + "05474f4c44" + "00" + "01" + "d00f" + "0a434f4d4d4f44495459" + "ac02");
+
+    @Test
+    void encodesGoldenMessage() {
+        List<AssetDTO> assets = List.of(
+                new AssetDTO(1L, "BTC", "Bitcoin", new BigDecimal("45000.00"), Asset.AssetType.CRYPTO, 7L),
+                new AssetDTO(null, "SGE", "Société Générale €", null, null, 0L),
+                new AssetDTO(3L, "GOLD", null, new BigDecimal("1E+3"), Asset.AssetType.COMMODITY, 300L));
+
+        assertArrayEquals(GOLDEN, QuoteWireFormat.encode(assets));
+    }
+
+    @Test
+    void encodesEmptyMessage() {
+        assertArrayEquals(HexFormat.of().parseHex("49510200"), QuoteWireFormat.encode(List.of()));
+    }
+
+    @Test
+    void rejectsPriceBeyondLongRange() {
+        AssetDTO asset = new AssetDTO(1L, "BIG", "Big", new BigDecimal("100000000000000000000.00"),
+                Asset.AssetType.STOCK, 0L);
+
+        assertThrows(IllegalArgumentException.class, () -> QuoteWireFormat.encode(List.of(asset)));
+    }
+}
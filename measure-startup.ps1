@@ -0,0 +1,194 @@
+# Startup Measurement - Time from JVM launch to the first answered HTTP request, per service and start mode
+#   default   - java -jar on the Spring Boot jar
+#   cds       - unpacked jar on a plain classpath with an AppCDS archive
+#   faststart - cds + Spring AOT bean definitions (gateway, market, wallet) + the faststart profile (lazy initialization)
+# Business services should be measured with Config Server running on 8888, so they see their real configuration.
+# A service whose port is already taken is skipped (stop it first).
+
+param(
+    [string[]]$Services = @("config-server", "eureka-server", "market-service", "wallet-service", "gateway-service"),
+    [int]$Runs = 3,
+    [int]$TimeoutSeconds = 120,
+    [switch]$SkipBuild
+)
+
+$catalogue = [ordered]@{
+    "config-server"   = @{Port=8888; Path="/actuator/health"; Jar="config-server-1.0.0.jar"; Aot=$false}
+    "eureka-server"   = @{Port=8761; Path="/actuator/health"; Jar="eureka-server-1.0.0.jar"; Aot=$false}
+    "market-service"  = @{Port=8081; Path="/api/assets"; Jar="market-service-1.0.0-exec.jar"; Aot=$true}
+    "wallet-service"  = @{Port=8082; Path="/api/wallets/user/1"; Jar="wallet-service-1.0.0-exec.jar"; Aot=$true}
+    "gateway-service" = @{Port=8080; Path="/actuator/health"; Jar="gateway-service-1.0.0-exec.jar"; Aot=$true}
+}
+$modes = @("default", "cds", "faststart")
+
+Write-Host "=== InvestTrack Startup Measurement ===" -ForegroundColor Cyan
+Write-Host "Services: $($Services -join ', ')  Runs per mode: $Runs"
+Write-Host ""
+
+function Test-PortInUse($port) {
+    try {
+        $client = New-Object System.Net.Sockets.TcpClient
+        $client.Connect("localhost", $port)
+        $client.Close()
+        return $true
+    } catch {
+        return $false
+    }
+}
+
+# Any HTTP answer counts, including 4xx/5xx: the service is up and served a request
+function Wait-FirstResponse($url, $process) {
+    $deadline = [DateTime]::UtcNow.AddSeconds($TimeoutSeconds)
+    while ([DateTime]::UtcNow -lt $deadline -and -not $process.HasExited) {
+        try {
+            Invoke-WebRequest -Uri $url -TimeoutSec 5 -UseBasicParsing | Out-Null
+            return $true
+        } catch {
+            if ($_.Exception.Response) {
+                return $true
+            }
+        }
+        Start-Sleep -Milliseconds 50
+    }
+    return $false
+}
+
+# CDS only archives classes loaded from jars, so the application classes are packed back into one jar
+function Expand-ServiceJar($jarPath, $target) {
+    if (Test-Path $target) {
+        Remove-Item $target -Recurse -Force
+    }
+    New-Item -ItemType Directory -Path $target | Out-Null
+    Push-Location $target
+    try {
+        jar xf $jarPath
+    } finally {
+        Pop-Location
+    }
+    $applicationJar = Join-Path $target "application.jar"
+    jar cf $applicationJar -C (Join-Path $target "BOOT-INF/classes") .
+
+    $manifest = Get-Content (Join-Path $target "META-INF/MANIFEST.MF")
+    $mainClass = ($manifest | Where-Object { $_ -like "Start-Class:*" }).Substring("Start-Class:".Length).Trim()
+    $libs = Get-ChildItem (Join-Path $target "BOOT-INF/lib") -Filter *.jar | Sort-Object Name | ForEach-Object { $_.FullName }
+    $classPath = (@($applicationJar) + $libs) -join [System.IO.Path]::PathSeparator
+    return @{MainClass=$mainClass; ClassPath=$classPath.Replace('\', '/')}
+}
+
+# Java argument files keep the long classpath off the command line
+function Write-ArgFile($path, $arguments) {
+    Set-Content -Path $path -Value ($arguments | ForEach-Object { '"' + $_.Replace('\', '/') + '"' })
+    return "@$path"
+}
+
+function Measure-FirstRequest($name, $argFile, $url, $log) {
+    $clock = [System.Diagnostics.Stopwatch]::StartNew()
+    $process = Start-Process java -ArgumentList $argFile -PassThru -NoNewWindow `
+        -RedirectStandardOutput $log -RedirectStandardError "$log.err"
+    $answered = Wait-FirstResponse $url $process
+    $elapsed = $clock.ElapsedMilliseconds
+    if (-not $process.HasExited) {
+        Stop-Process -Id $process.Id -Force
+    }
+    $process.WaitForExit()
+    if (-not $answered) {
+        Write-Host "  $name did not answer within $TimeoutSeconds s, see $log" -ForegroundColor Red
+        return $null
+    }
+    return $elapsed
+}
+
+$results = @()
+
+foreach ($name in $Services) {
+    $service = $catalogue[$name]
+    if (-not $service) {
+        Write-Host "Unknown service $name" -ForegroundColor Red
+        continue
+    }
+    $serviceDir = Join-Path $PSScriptRoot $name
+    Write-Host "[$name]" -ForegroundColor Yellow
+
+    if (Test-PortInUse $service.Port) {
+        Write-Host "  Port $($service.Port) is in use, skipping" -ForegroundColor Red
+        continue
+    }
+    if ($service.Aot -and -not (Test-PortInUse 8888)) {
+        Write-Host "  Config Server is not running, measuring with local configuration only" -ForegroundColor Magenta
+    }
+
+    if (-not $SkipBuild) {
+        # The fast-start build adds the AOT classes; they are ignored unless spring.aot.enabled=true
+        $mvnArgs = @("-B", "-q", "package", "-DskipTests")
+        if ($service.Aot) {
+            $mvnArgs += "-Pfast-start"
+        }
+        Push-Location $serviceDir
+        try {
+            & mvn @mvnArgs
+        } finally {
+            Pop-Location
+        }
+        if ($LASTEXITCODE -ne 0) {
+            Write-Host "  Build failed, skipping" -ForegroundColor Red
+            continue
+        }
+    }
+
+    $jarPath = Join-Path $serviceDir "target/$($service.Jar)"
+    $workDir = Join-Path $serviceDir "target/faststart"
+    $unpacked = Expand-ServiceJar $jarPath (Join-Path $workDir "app")
+    $url = "http://localhost:$($service.Port)$($service.Path)"
+    $appArgs = @($unpacked.MainClass, "--server.port=$($service.Port)")
+
+    $fastStartFlags = @("-Dspring.profiles.active=faststart")
+    if ($service.Aot) {
+        $fastStartFlags += "-Dspring.aot.enabled=true"
+    }
+
+    # Training runs stop right after the context refresh and dump the loaded classes into the archive
+    foreach ($archive in @(@{Name="cds"; Flags=@()}, @{Name="faststart"; Flags=$fastStartFlags})) {
+        $jsa = Join-Path $workDir "$($archive.Name).jsa"
+        $training = @("-XX:ArchiveClassesAtExit=$jsa", "-Dspring.context.exit=onRefresh") + $archive.Flags +
+            @("-cp", $unpacked.ClassPath) + $appArgs
+        $argFile = Write-ArgFile (Join-Path $workDir "$($archive.Name)-training.args") $training
+        Start-Process java -ArgumentList $argFile -Wait -NoNewWindow `
+            -RedirectStandardOutput (Join-Path $workDir "$($archive.Name)-training.log") `
+            -RedirectStandardError (Join-Path $workDir "$($archive.Name)-training.log.err")
+    }
+
+    $launch = @{
+        "default"   = @("-jar", $jarPath, "--server.port=$($service.Port)")
+        "cds"       = @("-XX:SharedArchiveFile=$(Join-Path $workDir 'cds.jsa')", "-cp", $unpacked.ClassPath) + $appArgs
+        "faststart" = @("-XX:SharedArchiveFile=$(Join-Path $workDir 'faststart.jsa')") + $fastStartFlags +
+            @("-cp", $unpacked.ClassPath) + $appArgs
+    }
+
+    foreach ($mode in $modes) {
+        $argFile = Write-ArgFile (Join-Path $workDir "$mode.args") $launch[$mode]
+        $timings = @()
+        for ($run = 1; $run -le $Runs; $run++) {
+            $elapsed = Measure-FirstRequest $name $argFile $url (Join-Path $workDir "$mode-$run.log")
+            if ($null -ne $elapsed) {
+                $timings += $elapsed
+            }
+        }
+        if ($timings.Count -eq 0) {
+            continue
+        }
+        $sorted = @($timings | Sort-Object)
+        $results += [PSCustomObject]@{
+            Service  = $name
+            Mode     = $mode
+            MedianMs = $sorted[[int][Math]::Floor(($sorted.Count - 1) / 2)]
+            MinMs    = $sorted[0]
+            MaxMs    = $sorted[-1]
+            Runs     = $sorted.Count
+        }
+        Write-Host "  $mode : $($sorted -join ' / ') ms" -ForegroundColor Green
+    }
+}
+
+Write-Host ""
+Write-Host "=== Time to first request ===" -ForegroundColor Cyan
+$results | Format-Table -AutoSize
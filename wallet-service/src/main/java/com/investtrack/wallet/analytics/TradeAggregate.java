@@ -0,0 +1,47 @@
+package com.investtrack.wallet.analytics;
+
+import com.investtrack.wallet.dto.TradeAggregateDTO;
+import com.investtrack.wallet.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Trade Aggregate - Running trade totals of one bucket (user, symbol, day or a combination)
+ */
+final class TradeAggregate {
+
+    private long tradeCount;
+    private BigDecimal boughtQuantity = BigDecimal.ZERO;
+    private BigDecimal soldQuantity = BigDecimal.ZERO;
+    private BigDecimal boughtNotional = BigDecimal.ZERO;
+    private BigDecimal soldNotional = BigDecimal.ZERO;
+    private BigDecimal realizedPnl = BigDecimal.ZERO;
+
+    synchronized void add(Transaction.TransactionType type, BigDecimal quantity, BigDecimal notional,
+                          BigDecimal realized) {
+        tradeCount++;
+        if (type == Transaction.TransactionType.BUY) {
+            boughtQuantity = boughtQuantity.add(quantity);
+            boughtNotional = boughtNotional.add(notional);
+        } else {
+            soldQuantity = soldQuantity.add(quantity);
+            soldNotional = soldNotional.add(notional);
+            realizedPnl = realizedPnl.add(realized);
+        }
+    }
+
+    synchronized TradeAggregateDTO toDTO(String assetSymbol, LocalDate day) {
+        return new TradeAggregateDTO(
+                assetSymbol,
+                day,
+                tradeCount,
+                boughtQuantity,
+                soldQuantity,
+                boughtQuantity.add(soldQuantity),
+                boughtNotional,
+                soldNotional,
+                boughtNotional.add(soldNotional),
+                realizedPnl);
+    }
+}
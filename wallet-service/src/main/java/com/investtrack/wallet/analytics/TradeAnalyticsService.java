@@ -0,0 +1,204 @@
+package com.investtrack.wallet.analytics;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.TradeAggregateDTO;
+import com.investtrack.wallet.dto.UserAnalyticsDTO;
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.event.TradeExecutedEvent;
+import com.investtrack.wallet.money.FixedPoint;
+import com.investtrack.wallet.rebuild.ReplayedPosition;
+import com.investtrack.wallet.rebuild.TransactionReplayRow;
+import com.investtrack.wallet.repository.TransactionRepository;
+import com.investtrack.wallet.store.TradeStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Trade Analytics Service - Per-user and per-symbol trade totals kept in memory
+ *
+ * Totals are bucketed by (userId, symbol, day) and rolled up per user, per user and
+ * symbol, and per symbol across users, so every query reads precomputed buckets
+ * instead of scanning transactions. Buckets are built once at startup by replaying
+ * the transactions table plus the trades the trade store recovered from its journal
+ * (before the web server accepts trades), and are then updated by every executed trade.
+ * Realized P&L of a sell is (price - average buy price) x quantity.
+ *
+ * Buckets are per instance: after startup they only see trades executed by this instance,
+ * so with several wallet instances each one reports its own share until it restarts.
+ */
+@Service
+@Slf4j
+public class TradeAnalyticsService {
+
+    private static final TradeAggregate EMPTY_AGGREGATE = new TradeAggregate();
+    private static final UserBuckets EMPTY_USER = new UserBuckets();
+
+    private final TransactionRepository transactionRepository;
+    private final TradeStore tradeStore;
+    private final WalletConfig walletConfig;
+
+    private final Map<String, UserBuckets> users = new ConcurrentHashMap<>();
+    private final Map<String, TradeAggregate> symbolTotals = new ConcurrentHashMap<>();
+
+    public TradeAnalyticsService(TransactionRepository transactionRepository,
+                                 TradeStore tradeStore,
+                                 WalletConfig walletConfig,
+                                 MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.tradeStore = tradeStore;
+        this.walletConfig = walletConfig;
+        Gauge.builder("wallet.analytics.users", users, Map::size).register(meterRegistry);
+        Gauge.builder("wallet.analytics.symbols", symbolTotals, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Build the buckets from every stored transaction, then from recovered journaled trades not yet in the table
+     * The journal applier runs meanwhile, so a recovered trade is skipped if its row was already read
+     */
+    @PostConstruct
+    public void bootstrap() {
+        long started = System.currentTimeMillis();
+        Map<String, ReplayedPosition> positions = new HashMap<>();
+        Set<String> journalKeys = new HashSet<>();
+        long afterId = 0L;
+        long replayed = 0;
+        while (true) {
+            List<TransactionReplayRow> page = transactionRepository.findReplayPage(
+                    afterId, Long.MAX_VALUE, PageRequest.of(0, walletConfig.getRebuildPageSize()));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (TransactionReplayRow row : page) {
+                replay(positions, row);
+                if (row.journalKey() != null) {
+                    journalKeys.add(row.journalKey());
+                }
+            }
+            replayed += page.size();
+            afterId = page.get(page.size() - 1).id();
+        }
+
+        long recovered = 0;
+        for (TransactionReplayRow row : tradeStore.recoveredTrades()) {
+            if (!journalKeys.contains(row.journalKey())) {
+                replay(positions, row);
+                recovered++;
+            }
+        }
+        log.info("Trade analytics built from {} transactions and {} recovered journaled trades for {} users in {} ms",
+                replayed, recovered, users.size(), System.currentTimeMillis() - started);
+    }
+
+    private void replay(Map<String, ReplayedPosition> positions, TransactionReplayRow row) {
+        ReplayedPosition position = positions.computeIfAbsent(
+                ReplayedPosition.key(row.userId(), row.assetSymbol()),
+                key -> new ReplayedPosition(row.userId(), row.assetSymbol()));
+        record(row.userId(), row.assetSymbol(), row.type(), row.quantity(), row.price(),
+                position.getAverageBuyPrice(), row.timestamp().toLocalDate());
+        position.apply(row);
+    }
+
+    /**
+     * Add an executed trade to its buckets once it has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeExecuted(TradeExecutedEvent event) {
+        record(event.getUserId(), event.getAssetSymbol(), event.getType(), event.getQuantity(), event.getPrice(),
+                event.getPreviousAverageBuyPrice(), event.getTimestamp().toLocalDate());
+    }
+
+    /**
+     * A user's all-time totals, overall and per symbol (all zero when the user never traded)
+     */
+    public UserAnalyticsDTO getUserAnalytics(String userId) {
+        UserBuckets buckets = users.getOrDefault(userId, EMPTY_USER);
+        List<TradeAggregateDTO> symbols = new ArrayList<>();
+        buckets.bySymbol.forEach((symbol, aggregate) -> symbols.add(aggregate.toDTO(symbol, null)));
+        symbols.sort(Comparator.comparing(TradeAggregateDTO::getAssetSymbol));
+        return new UserAnalyticsDTO(userId, buckets.total.toDTO(null, null), symbols);
+    }
+
+    /**
+     * A user's daily totals per symbol between two days (inclusive), optionally for one symbol
+     */
+    public List<TradeAggregateDTO> getUserDailyAnalytics(String userId, LocalDate from, LocalDate to, String symbol) {
+        UserBuckets buckets = users.get(userId);
+        if (buckets == null || from.isAfter(to)) {
+            return List.of();
+        }
+        List<TradeAggregateDTO> days = new ArrayList<>();
+        for (Map.Entry<LocalDate, Map<String, TradeAggregate>> day : buckets.daily.subMap(from, true, to, true).entrySet()) {
+            if (symbol != null) {
+                TradeAggregate aggregate = day.getValue().get(symbol);
+                if (aggregate != null) {
+                    days.add(aggregate.toDTO(symbol, day.getKey()));
+                }
+            } else {
+                day.getValue().forEach((daySymbol, aggregate) -> days.add(aggregate.toDTO(daySymbol, day.getKey())));
+            }
+        }
+        days.sort(Comparator.comparing(TradeAggregateDTO::getDay).thenComparing(TradeAggregateDTO::getAssetSymbol));
+        return days;
+    }
+
+    /**
+     * All-time totals of one symbol across users
+     */
+    public TradeAggregateDTO getSymbolAnalytics(String symbol) {
+        return symbolTotals.getOrDefault(symbol, EMPTY_AGGREGATE).toDTO(symbol, null);
+    }
+
+    /**
+     * All-time totals of every traded symbol across users
+     */
+    public List<TradeAggregateDTO> getAllSymbolAnalytics() {
+        List<TradeAggregateDTO> symbols = new ArrayList<>();
+        symbolTotals.forEach((symbol, aggregate) -> symbols.add(aggregate.toDTO(symbol, null)));
+        symbols.sort(Comparator.comparing(TradeAggregateDTO::getAssetSymbol));
+        return symbols;
+    }
+
+    private void record(String userId, String symbol, Transaction.TransactionType type, BigDecimal quantity,
+                        BigDecimal price, BigDecimal averageBuyPrice, LocalDate day) {
+        long units = FixedPoint.toUnscaled(quantity, FixedPoint.QUANTITY_SCALE);
+        long notionalCents = FixedPoint.value(units, FixedPoint.toUnscaled(price, FixedPoint.PRICE_SCALE));
+        BigDecimal notional = FixedPoint.toDecimal(notionalCents, FixedPoint.PRICE_SCALE);
+        BigDecimal realized = type == Transaction.TransactionType.SELL
+                ? FixedPoint.toDecimal(notionalCents
+                        - FixedPoint.value(units, FixedPoint.toUnscaled(averageBuyPrice, FixedPoint.PRICE_SCALE)),
+                        FixedPoint.PRICE_SCALE)
+                : BigDecimal.ZERO;
+
+        UserBuckets buckets = users.computeIfAbsent(userId, id -> new UserBuckets());
+        buckets.total.add(type, quantity, notional, realized);
+        buckets.bySymbol.computeIfAbsent(symbol, s -> new TradeAggregate()).add(type, quantity, notional, realized);
+        buckets.daily.computeIfAbsent(day, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(symbol, s -> new TradeAggregate())
+                .add(type, quantity, notional, realized);
+        symbolTotals.computeIfAbsent(symbol, s -> new TradeAggregate()).add(type, quantity, notional, realized);
+    }
+
+    private static final class UserBuckets {
+        private final TradeAggregate total = new TradeAggregate();
+        private final Map<String, TradeAggregate> bySymbol = new ConcurrentHashMap<>();
+        private final NavigableMap<LocalDate, Map<String, TradeAggregate>> daily = new ConcurrentSkipListMap<>();
+    }
+}
@@ -0,0 +1,193 @@
+package com.investtrack.wallet.cache;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.AssetDTO;
+import com.investtrack.wallet.dto.PriceChangeDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Asset Price Cache - Bounded, TTL-based local copy of Market Service quotes
+ *
+ * Entries carry Market Service's per-asset price version, which both quotes and pushes
+ * return, so loads and pushes are ordered by the same sequence regardless of either clock.
+ * An older version never replaces a newer one, so a slow load cannot overwrite a fresher push.
+ */
+@Component
+@Slf4j
+public class AssetPriceCache {
+
+    private final WalletConfig walletConfig;
+    private final Map<String, CachedAsset> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter invalidations;
+    private final Timer entryAge;
+
+    public AssetPriceCache(WalletConfig walletConfig, MeterRegistry meterRegistry) {
+        this.walletConfig = walletConfig;
+        this.hits = meterRegistry.counter("wallet.price.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("wallet.price.cache.requests", "result", "miss");
+        this.staleHits = meterRegistry.counter("wallet.price.cache.requests", "result", "stale");
+        this.invalidations = meterRegistry.counter("wallet.price.cache.invalidations");
+        this.entryAge = Timer.builder("wallet.price.cache.entry.age")
+                .description("Age of cached prices served to trades")
+                .register(meterRegistry);
+        Gauge.builder("wallet.price.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Return the cached asset, going remote through the loader only when the entry is missing or too old
+     * A null result from the loader (Market Service fallback) is passed through and never cached
+     */
+    public AssetDTO get(String symbol, Function<String, AssetDTO> loader) {
+        long now = System.currentTimeMillis();
+        CachedAsset cached = entries.get(symbol);
+
+        if (cached != null) {
+            long age = now - cached.refreshedAt();
+            if (age <= walletConfig.getPriceCacheTtlMs()) {
+                hits.increment();
+                entryAge.record(age, TimeUnit.MILLISECONDS);
+                return cached.asset();
+            }
+            staleHits.increment();
+        } else {
+            misses.increment();
+        }
+
+        AssetDTO asset = loader.apply(symbol);
+        if (asset != null) {
+            put(symbol, asset);
+        }
+        return asset;
+    }
+
+    /**
+     * Bulk variant of {@link #get}: fresh entries are served locally and every missing or stale
+     * symbol is loaded with a single loader call. Symbols the loader does not return are left out
+     * of the result, which keeps the requested order.
+     */
+    public Map<String, AssetDTO> getAll(Collection<String> symbols, Function<Collection<String>, List<AssetDTO>> loader) {
+        long now = System.currentTimeMillis();
+        Map<String, AssetDTO> found = new LinkedHashMap<>();
+        List<String> toLoad = new ArrayList<>();
+
+        for (String symbol : symbols) {
+            CachedAsset cached = entries.get(symbol);
+            if (cached != null) {
+                long age = now - cached.refreshedAt();
+                if (age <= walletConfig.getPriceCacheTtlMs()) {
+                    hits.increment();
+                    entryAge.record(age, TimeUnit.MILLISECONDS);
+                    found.put(symbol, cached.asset());
+                    continue;
+                }
+                staleHits.increment();
+            } else {
+                misses.increment();
+            }
+            toLoad.add(symbol);
+        }
+
+        if (!toLoad.isEmpty()) {
+            for (AssetDTO asset : loader.apply(toLoad)) {
+                put(asset.getSymbol(), asset);
+                found.put(asset.getSymbol(), asset);
+            }
+        }
+
+        Map<String, AssetDTO> ordered = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            AssetDTO asset = found.get(symbol);
+            if (asset != null) {
+                ordered.put(symbol, asset);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Load a symbol without looking at its cached entry, for callers that act on the price right away
+     * The loaded quote still refreshes the cache (unless a newer version is already there)
+     */
+    public AssetDTO load(String symbol, Function<String, AssetDTO> loader) {
+        misses.increment();
+        AssetDTO asset = loader.apply(symbol);
+        if (asset != null) {
+            put(symbol, asset);
+        }
+        return asset;
+    }
+
+    /**
+     * Apply a price push from Market Service
+     */
+    @EventListener
+    public void onPriceChange(PriceChangeDTO change) {
+        String symbol = change.getSymbol().toUpperCase();
+        invalidations.increment();
+
+        if (change.getCurrentPrice() == null) {
+            entries.remove(symbol);
+            return;
+        }
+
+        entries.computeIfPresent(symbol, (key, cached) -> {
+            if (change.getVersion() < cached.version()) {
+                return cached;
+            }
+            AssetDTO current = cached.asset();
+            AssetDTO refreshed = new AssetDTO(current.getId(), current.getSymbol(), current.getName(),
+                    change.getCurrentPrice(), current.getType(), change.getVersion());
+            return new CachedAsset(refreshed, change.getVersion(), System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * Drop every entry (e.g. after a Market Service outage)
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private void put(String symbol, AssetDTO asset) {
+        long version = asset.getPriceVersion();
+        entries.compute(symbol, (key, cached) ->
+                cached != null && cached.version() > version
+                        ? cached
+                        : new CachedAsset(asset, version, System.currentTimeMillis()));
+
+        if (entries.size() > walletConfig.getPriceCacheMaxSize()) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min((a, b) -> Long.compare(a.getValue().refreshedAt(), b.getValue().refreshedAt()))
+                .ifPresent(eldest -> {
+                    entries.remove(eldest.getKey(), eldest.getValue());
+                    log.debug("Evicted {} from price cache", eldest.getKey());
+                });
+    }
+
+    private record CachedAsset(AssetDTO asset, long version, long refreshedAt) {
+    }
+}
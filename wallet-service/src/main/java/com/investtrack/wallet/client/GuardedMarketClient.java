@@ -0,0 +1,77 @@
+package com.investtrack.wallet.client;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.AssetDTO;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Guarded Market Client - MarketServiceClient calls run through the MarketCallGuard
+ * Hedge requests bypass the load balancer and go straight to the chosen instance.
+ */
+@Component
+public class GuardedMarketClient {
+
+    private static final ParameterizedTypeReference<List<AssetDTO>> ASSET_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final MarketServiceClient marketServiceClient;
+    private final MarketCallGuard marketCallGuard;
+    private final RestClient instanceClient;
+
+    public GuardedMarketClient(MarketServiceClient marketServiceClient,
+                               MarketCallGuard marketCallGuard,
+                               WalletConfig walletConfig) {
+        this.marketServiceClient = marketServiceClient;
+        this.marketCallGuard = marketCallGuard;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) walletConfig.getMarketCallTimeoutMaxMs());
+        requestFactory.setReadTimeout((int) walletConfig.getMarketCallTimeoutMaxMs());
+        this.instanceClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    /**
+     * Get asset by symbol from Market Service
+     */
+    public AssetDTO getAssetBySymbol(String symbol) {
+        return marketCallGuard.call("asset-by-symbol",
+                () -> marketServiceClient.getAssetBySymbol(symbol),
+                instance -> instanceClient.get()
+                        .uri(UriComponentsBuilder.fromUri(instance)
+                                .path("/api/assets/symbol/{symbol}")
+                                .buildAndExpand(symbol)
+                                .toUri())
+                        .retrieve()
+                        .body(AssetDTO.class));
+    }
+
+    /**
+     * Get quotes for many symbols with one call (requested order, unknown symbols omitted)
+     */
+    public List<AssetDTO> getAssetsBySymbols(Collection<String> symbols) {
+        return marketCallGuard.call("quotes",
+                () -> marketServiceClient.getAssetsBySymbols(symbols),
+                instance -> instanceClient.get()
+                        .uri(UriComponentsBuilder.fromUri(instance)
+                                .path("/api/assets/quotes")
+                                .queryParam("symbols", String.join(",", symbols))
+                                .build()
+                                .toUri())
+                        .retrieve()
+                        .body(ASSET_LIST));
+    }
+
+    /**
+     * Get the full asset catalogue from Market Service
+     */
+    public List<AssetDTO> getAllAssets() {
+        return marketCallGuard.call("assets", marketServiceClient::getAllAssets, null);
+    }
+}
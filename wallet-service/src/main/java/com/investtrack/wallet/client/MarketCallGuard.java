@@ -0,0 +1,298 @@
+package com.investtrack.wallet.client;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.exception.MarketServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Market Call Guard - Bulkhead, adaptive timeout and optional hedging for Market Service calls
+ *
+ * At most max-concurrent calls run at once; a caller that cannot get a slot within
+ * max-wait-ms is rejected. A slot is held until the remote call really ends, even when
+ * the caller already gave up, so a slow Market Service cannot take more threads than the
+ * bulkhead allows. The caller waits up to p99 x multiplier (per operation, bounded).
+ * With hedging on, a call still running at the hedge percentile is repeated against
+ * another registered instance and the first successful answer wins.
+ * Failures are thrown as MarketServiceUnavailableException, which the trade circuit
+ * breaker counts.
+ */
+@Component
+@Slf4j
+public class MarketCallGuard {
+
+    private static final String MARKET_SERVICE_ID = "market-service";
+    private static final int MIN_SAMPLES = 50;
+
+    private final WalletConfig walletConfig;
+    private final DiscoveryClient discoveryClient;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+    private final ExecutorService callExecutor;
+    private final ScheduledExecutorService statsRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "market-call-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+
+    public MarketCallGuard(WalletConfig walletConfig, DiscoveryClient discoveryClient, MeterRegistry meterRegistry) {
+        this.walletConfig = walletConfig;
+        this.discoveryClient = discoveryClient;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(walletConfig.getMarketCallMaxConcurrent());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.callExecutor = Executors.newFixedThreadPool(walletConfig.getMarketCallMaxConcurrent(), runnable -> {
+            Thread thread = new Thread(runnable, "market-call-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.rejected = meterRegistry.counter("wallet.market.bulkhead.rejected");
+        this.hedgesSent = meterRegistry.counter("wallet.market.hedge.requests", "result", "sent");
+        this.hedgesWon = meterRegistry.counter("wallet.market.hedge.requests", "result", "won");
+        Gauge.builder("wallet.market.bulkhead.available", bulkhead, Semaphore::availablePermits).register(meterRegistry);
+
+        statsRefresher.scheduleWithFixedDelay(this::refreshStats, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Run a call through the bulkhead with the operation's current timeout
+     *
+     * @param operation name used for latency tracking and metrics
+     * @param primary   the regular (load-balanced) call
+     * @param hedge     the same call against a given instance base URI, or null to never hedge
+     */
+    public <T> T call(String operation, Supplier<T> primary, Function<URI, T> hedge) {
+        OperationStats stats = operations.computeIfAbsent(operation, this::register);
+        long start = System.nanoTime();
+        long timeoutNanos = stats.timeoutNanos;
+
+        if (!acquire()) {
+            rejected.increment();
+            stats.record("rejected", start);
+            throw new MarketServiceUnavailableException("Market Service bulkhead is full");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger(1);
+        launch(primary, result, attempts, stats, false);
+
+        try {
+            if (hedge != null && walletConfig.isMarketCallHedgeEnabled() && stats.hedgeDelayNanos < timeoutNanos) {
+                try {
+                    return complete(stats, start, result.get(stats.hedgeDelayNanos, TimeUnit.NANOSECONDS));
+                } catch (TimeoutException ex) {
+                    sendHedge(hedge, result, attempts, stats);
+                }
+            }
+            long remaining = timeoutNanos - (System.nanoTime() - start);
+            return complete(stats, start, result.get(Math.max(0L, remaining), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException ex) {
+            stats.record("timeout", start);
+            throw new MarketServiceUnavailableException("Market Service " + operation + " call timed out after "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+        } catch (ExecutionException ex) {
+            stats.record("failure", start);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new MarketServiceUnavailableException("Market Service " + operation + " call failed: "
+                    + ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MarketServiceUnavailableException("Interrupted while calling Market Service");
+        }
+    }
+
+    private <T> T complete(OperationStats stats, long start, T value) {
+        stats.record("success", start);
+        return value;
+    }
+
+    private boolean acquire() {
+        try {
+            return bulkhead.tryAcquire(walletConfig.getMarketCallMaxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Run one attempt on the call pool; the caller must already hold a bulkhead slot
+     */
+    private <T> void launch(Supplier<T> call, CompletableFuture<T> result, AtomicInteger attempts,
+                            OperationStats stats, boolean isHedge) {
+        callExecutor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                T value = call.get();
+                stats.latencies.record(System.nanoTime() - start);
+                if (result.complete(value) && isHedge) {
+                    hedgesWon.increment();
+                }
+            } catch (RuntimeException ex) {
+                if (attempts.decrementAndGet() == 0) {
+                    result.completeExceptionally(ex);
+                }
+            } finally {
+                bulkhead.release();
+            }
+        });
+    }
+
+    /**
+     * Send a second attempt to a random instance; skipped when no slot is free right now
+     */
+    private <T> void sendHedge(Function<URI, T> hedge, CompletableFuture<T> result, AtomicInteger attempts,
+                               OperationStats stats) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(MARKET_SERVICE_ID);
+        if (instances.size() < 2 || result.isDone() || !bulkhead.tryAcquire()) {
+            return;
+        }
+        URI target = instances.get(ThreadLocalRandom.current().nextInt(instances.size())).getUri();
+        attempts.incrementAndGet();
+        hedgesSent.increment();
+        launch(() -> hedge.apply(target), result, attempts, stats, true);
+    }
+
+    private OperationStats register(String operation) {
+        OperationStats stats = new OperationStats(operation, walletConfig.getMarketCallLatencyWindow(),
+                TimeUnit.MILLISECONDS.toNanos(walletConfig.getMarketCallTimeoutMaxMs()));
+        Gauge.builder("wallet.market.call.timeout", stats, s -> TimeUnit.NANOSECONDS.toMillis(s.timeoutNanos))
+                .tag("operation", operation)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("wallet.market.call.hedge.delay", stats, s -> TimeUnit.NANOSECONDS.toMillis(s.hedgeDelayNanos))
+                .tag("operation", operation)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return stats;
+    }
+
+    /**
+     * Recompute each operation's timeout and hedge delay from its recent latencies
+     */
+    private void refreshStats() {
+        long minNanos = TimeUnit.MILLISECONDS.toNanos(walletConfig.getMarketCallTimeoutMinMs());
+        long maxNanos = TimeUnit.MILLISECONDS.toNanos(walletConfig.getMarketCallTimeoutMaxMs());
+        for (OperationStats stats : operations.values()) {
+            long[] sorted = stats.latencies.sortedSnapshot();
+            if (sorted.length < MIN_SAMPLES) {
+                continue;
+            }
+            long p99 = percentile(sorted, 0.99);
+            long timeout = (long) (p99 * walletConfig.getMarketCallTimeoutMultiplier());
+            stats.timeoutNanos = Math.min(maxNanos, Math.max(minNanos, timeout));
+            stats.hedgeDelayNanos = percentile(sorted, walletConfig.getMarketCallHedgePercentile());
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.min(sorted.length - 1, Math.max(0, index))];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        statsRefresher.shutdownNow();
+        callExecutor.shutdownNow();
+    }
+
+    private final class OperationStats {
+
+        private final LatencyWindow latencies;
+        private final Timer success;
+        private final Timer failure;
+        private final Timer timeout;
+        private final Timer rejectedTimer;
+        private volatile long timeoutNanos;
+        private volatile long hedgeDelayNanos;
+
+        private OperationStats(String operation, int window, long initialTimeoutNanos) {
+            this.latencies = new LatencyWindow(window);
+            this.success = timer(operation, "success");
+            this.failure = timer(operation, "failure");
+            this.timeout = timer(operation, "timeout");
+            this.rejectedTimer = timer(operation, "rejected");
+            this.timeoutNanos = initialTimeoutNanos;
+            this.hedgeDelayNanos = initialTimeoutNanos;
+        }
+
+        private Timer timer(String operation, String outcome) {
+            return Timer.builder("wallet.market.call")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        void record(String outcome, long start) {
+            Timer timer = switch (outcome) {
+                case "success" -> success;
+                case "timeout" -> timeout;
+                case "rejected" -> rejectedTimer;
+                default -> failure;
+            };
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Ring of the most recent latencies; writers never block
+     */
+    private static final class LatencyWindow {
+
+        private final AtomicLongArray samples;
+        private final AtomicLong written = new AtomicLong();
+
+        LatencyWindow(int size) {
+            this.samples = new AtomicLongArray(Math.max(MIN_SAMPLES, size));
+        }
+
+        void record(long nanos) {
+            samples.set((int) (written.getAndIncrement() % samples.length()), nanos);
+        }
+
+        long[] sortedSnapshot() {
+            int count = (int) Math.min(written.get(), samples.length());
+            long[] copy = new long[count];
+            for (int i = 0; i < count; i++) {
+                copy[i] = samples.get(i);
+            }
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
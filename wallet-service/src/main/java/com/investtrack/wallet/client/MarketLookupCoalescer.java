@@ -0,0 +1,196 @@
+package com.investtrack.wallet.client;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.AssetDTO;
+import com.investtrack.wallet.exception.MarketServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Market Lookup Coalescer - Single-flight layer in front of GuardedMarketClient
+ *
+ * Concurrent lookups of the same symbol share one in-flight remote call and all
+ * callers receive its result (or its exception). With a batch window configured,
+ * lookups of different symbols arriving within the window are sent as one bulk
+ * quote call. The bulk answer leaves out unknown symbols, so a symbol missing from it
+ * completes as null (not found) without another remote call. Callers wait at most the
+ * lookup wait timeout for a shared result.
+ */
+@Component
+@Slf4j
+public class MarketLookupCoalescer {
+
+    private final GuardedMarketClient marketClient;
+    private final WalletConfig walletConfig;
+    private final Map<String, CompletableFuture<AssetDTO>> inFlight = new ConcurrentHashMap<>();
+
+    private final Object batchLock = new Object();
+    private Map<String, CompletableFuture<AssetDTO>> pendingBatch = new LinkedHashMap<>();
+    private final ScheduledExecutorService batchScheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "market-lookup-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter lookups;
+    private final Counter singleCalls;
+    private final Counter batchCalls;
+    private final DistributionSummary batchSize;
+
+    public MarketLookupCoalescer(GuardedMarketClient marketClient,
+                                 WalletConfig walletConfig,
+                                 MeterRegistry meterRegistry) {
+        this.marketClient = marketClient;
+        this.walletConfig = walletConfig;
+        this.lookups = meterRegistry.counter("wallet.market.lookup.requests");
+        this.singleCalls = meterRegistry.counter("wallet.market.lookup.remote", "kind", "single");
+        this.batchCalls = meterRegistry.counter("wallet.market.lookup.remote", "kind", "batch");
+        this.batchSize = DistributionSummary.builder("wallet.market.lookup.batch.size")
+                .description("Symbols sent per batched quote call")
+                .register(meterRegistry);
+        Gauge.builder("wallet.market.lookup.fan.in", this, MarketLookupCoalescer::fanIn)
+                .description("Lookups answered per remote call")
+                .register(meterRegistry);
+        Gauge.builder("wallet.market.lookup.in.flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Look up one symbol, sharing the remote call with concurrent lookups of the same symbol
+     */
+    public AssetDTO getAssetBySymbol(String symbol) {
+        lookups.increment();
+
+        CompletableFuture<AssetDTO> mine = new CompletableFuture<>();
+        CompletableFuture<AssetDTO> existing = inFlight.putIfAbsent(symbol, mine);
+        if (existing != null) {
+            return await(symbol, existing);
+        }
+
+        if (walletConfig.getMarketLookupBatchWindowMs() > 0) {
+            enqueue(symbol, mine);
+            return await(symbol, mine);
+        }
+
+        try {
+            mine.complete(loadSingle(symbol));
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(symbol, mine);
+        }
+        return await(symbol, mine);
+    }
+
+    private void enqueue(String symbol, CompletableFuture<AssetDTO> future) {
+        Map<String, CompletableFuture<AssetDTO>> full = null;
+        synchronized (batchLock) {
+            pendingBatch.put(symbol, future);
+            if (pendingBatch.size() >= walletConfig.getMarketLookupBatchMaxSize()) {
+                full = pendingBatch;
+                pendingBatch = new LinkedHashMap<>();
+            } else if (pendingBatch.size() == 1) {
+                batchScheduler.schedule(this::flushPending, walletConfig.getMarketLookupBatchWindowMs(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            Map<String, CompletableFuture<AssetDTO>> batch = full;
+            batchScheduler.execute(() -> flush(batch));
+        }
+    }
+
+    private void flushPending() {
+        Map<String, CompletableFuture<AssetDTO>> batch;
+        synchronized (batchLock) {
+            if (pendingBatch.isEmpty()) {
+                return;
+            }
+            batch = pendingBatch;
+            pendingBatch = new LinkedHashMap<>();
+        }
+        flush(batch);
+    }
+
+    private void flush(Map<String, CompletableFuture<AssetDTO>> batch) {
+        Map<String, AssetDTO> bySymbol = new HashMap<>();
+        try {
+            batchCalls.increment();
+            batchSize.record(batch.size());
+            for (AssetDTO quote : marketClient.getAssetsBySymbols(batch.keySet())) {
+                bySymbol.put(quote.getSymbol().toUpperCase(), quote);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Batched quote lookup for {} symbols failed: {}", batch.size(), ex.getMessage());
+            batch.forEach((symbol, future) -> fail(symbol, future, ex));
+            return;
+        }
+
+        // Unknown symbols are omitted from the answer: complete them as not found
+        batch.forEach((symbol, future) -> complete(symbol, future, bySymbol.get(symbol.toUpperCase())));
+    }
+
+    private void complete(String symbol, CompletableFuture<AssetDTO> future, AssetDTO asset) {
+        future.complete(asset);
+        inFlight.remove(symbol, future);
+    }
+
+    private void fail(String symbol, CompletableFuture<AssetDTO> future, RuntimeException ex) {
+        future.completeExceptionally(ex);
+        inFlight.remove(symbol, future);
+    }
+
+    private AssetDTO loadSingle(String symbol) {
+        singleCalls.increment();
+        return marketClient.getAssetBySymbol(symbol);
+    }
+
+    private AssetDTO await(String symbol, CompletableFuture<AssetDTO> future) {
+        try {
+            return future.get(walletConfig.getMarketLookupWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Let the next lookup start a fresh call instead of joining this one
+            inFlight.remove(symbol, future);
+            throw new MarketServiceUnavailableException("Market lookup for " + symbol + " timed out after "
+                    + walletConfig.getMarketLookupWaitTimeoutMs() + " ms");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MarketServiceUnavailableException("Interrupted while waiting for market lookup of " + symbol);
+        }
+    }
+
+    private double fanIn() {
+        double remote = singleCalls.count() + batchCalls.count();
+        return remote == 0 ? 0 : lookups.count() / remote;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchScheduler.shutdownNow();
+        synchronized (batchLock) {
+            IllegalStateException stopped = new IllegalStateException("Market lookup coalescer stopped");
+            pendingBatch.forEach((symbol, future) -> fail(symbol, future, stopped));
+            pendingBatch.clear();
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.investtrack.wallet.dto.AssetDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Market Service Feign Client - Communicates with Market Service via Eureka
@@ -16,4 +20,16 @@ public interface MarketServiceClient {
      */
     @GetMapping("/api/assets/symbol/{symbol}")
     AssetDTO getAssetBySymbol(@PathVariable("symbol") String symbol);
+
+    /**
+     * Get the full asset catalogue from Market Service
+     */
+    @GetMapping("/api/assets")
+    List<AssetDTO> getAllAssets();
+
+    /**
+     * Get quotes for many symbols with one call (requested order, unknown symbols omitted)
+     */
+    @GetMapping("/api/assets/quotes")
+    List<AssetDTO> getAssetsBySymbols(@RequestParam("symbols") Collection<String> symbols);
 }
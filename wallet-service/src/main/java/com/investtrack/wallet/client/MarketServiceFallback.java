@@ -4,6 +4,9 @@ import com.investtrack.wallet.dto.AssetDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Fallback implementation for Market Service Client
  * Used when circuit breaker is open
@@ -19,4 +22,16 @@ public class MarketServiceFallback implements MarketServiceClient {
         // The service layer will handle this appropriately
         return null;
     }
+
+    @Override
+    public List<AssetDTO> getAllAssets() {
+        log.warn("Market Service is unavailable. Returning empty asset catalogue");
+        return List.of();
+    }
+
+    @Override
+    public List<AssetDTO> getAssetsBySymbols(Collection<String> symbols) {
+        log.warn("Market Service is unavailable. Returning no quotes for {} symbols", symbols.size());
+        return List.of();
+    }
 }
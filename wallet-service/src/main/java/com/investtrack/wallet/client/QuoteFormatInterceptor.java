@@ -0,0 +1,34 @@
+package com.investtrack.wallet.client;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.wire.QuoteWireFormat;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Quote Format Interceptor - Asks Market Service for the binary quote format when enabled
+ * JSON stays acceptable at a lower quality, so error bodies and older Market Service
+ * instances still answer in JSON.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuoteFormatInterceptor implements RequestInterceptor {
+
+    private static final String MARKET_SERVICE_ID = "market-service";
+    private static final String ACCEPT_BINARY_QUOTES =
+            QuoteWireFormat.MEDIA_TYPE_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+
+    private final WalletConfig walletConfig;
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (walletConfig.isMarketCallBinaryQuotes() && MARKET_SERVICE_ID.equals(template.feignTarget().name())) {
+            template.removeHeader(HttpHeaders.ACCEPT);
+            template.header(HttpHeaders.ACCEPT, ACCEPT_BINARY_QUOTES);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.investtrack.wallet.config;
+
+import com.investtrack.wallet.analytics.TradeAnalyticsService;
+import com.investtrack.wallet.journal.JournaledTradeStore;
+import com.investtrack.wallet.orders.RestingOrderService;
+import com.investtrack.wallet.rebuild.WalletRebuildService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fast Start Configuration - Beans that stay eager when lazy initialization is on (faststart profile)
+ */
+@Configuration
+public class FastStartConfig {
+
+    /**
+     * Created lazily, the analytics bootstrap would count the trade that triggered it twice, journal
+     * recovery would wait for the next trade, and the snapshot and order sync schedules would never be registered.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerWalletBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                TradeAnalyticsService.class, JournaledTradeStore.class, WalletRebuildService.class,
+                RestingOrderService.class);
+    }
+}
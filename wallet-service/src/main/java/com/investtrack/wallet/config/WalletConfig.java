@@ -17,4 +17,225 @@ public class WalletConfig {
      */
     @Value("${invest-config.wallet.history-days:30}")
     private int historyDays;
+
+    /**
+     * Maximum number of symbols held in the local price cache
+     */
+    @Value("${invest-config.wallet.price-cache.max-size:1000}")
+    private int priceCacheMaxSize;
+
+    /**
+     * Age after which a cached price is considered stale and reloaded from Market Service
+     */
+    @Value("${invest-config.wallet.price-cache.ttl-ms:30000}")
+    private long priceCacheTtlMs;
+
+    /**
+     * Shared secret expected in X-Internal-Token on /internal/** (price pushes); unset rejects every call
+     */
+    @Value("${invest-config.wallet.price-push.token:}")
+    private String pricePushToken;
+
+    /**
+     * Number of single-threaded trade stripes (0 = one per CPU core)
+     */
+    @Value("${invest-config.wallet.trade-executor.stripes:0}")
+    private int tradeExecutorStripes;
+
+    /**
+     * Number of trade stripes when spring.threads.virtual.enabled=true on Java 21+ and stripes is 0;
+     * each stripe is one virtual thread, so a stripe waiting on the database does not hold a core
+     */
+    @Value("${invest-config.wallet.trade-executor.virtual-stripes:256}")
+    private int tradeExecutorVirtualStripes;
+
+    /**
+     * Maximum number of trades waiting in one stripe before new trades are rejected
+     */
+    @Value("${invest-config.wallet.trade-executor.queue-capacity:1000}")
+    private int tradeExecutorQueueCapacity;
+
+    /**
+     * Longest a caller waits for a trade to leave its stripe, in milliseconds
+     * A trade still queued at the deadline is dropped; one already running completes in the background
+     */
+    @Value("${invest-config.wallet.trade-executor.timeout-ms:10000}")
+    private long tradeExecutorTimeoutMs;
+
+    /**
+     * Window during which single-symbol lookups are collected into one bulk quote call (0 = no batching)
+     */
+    @Value("${invest-config.wallet.market-lookup.batch-window-ms:0}")
+    private long marketLookupBatchWindowMs;
+
+    /**
+     * Maximum number of symbols sent in one batched quote call
+     */
+    @Value("${invest-config.wallet.market-lookup.batch-max-size:100}")
+    private int marketLookupBatchMaxSize;
+
+    /**
+     * Longest a caller waits for a coalesced lookup before giving up with Market Service unavailable
+     */
+    @Value("${invest-config.wallet.market-lookup.wait-timeout-ms:5000}")
+    private long marketLookupWaitTimeoutMs;
+
+    /**
+     * Maximum number of concurrent calls to Market Service (bulkhead size)
+     */
+    @Value("${invest-config.wallet.market-call.max-concurrent:20}")
+    private int marketCallMaxConcurrent;
+
+    /**
+     * How long a caller waits for a free bulkhead slot before the call is rejected
+     */
+    @Value("${invest-config.wallet.market-call.max-wait-ms:50}")
+    private long marketCallMaxWaitMs;
+
+    /**
+     * Lower bound of the adaptive call timeout
+     */
+    @Value("${invest-config.wallet.market-call.timeout.min-ms:200}")
+    private long marketCallTimeoutMinMs;
+
+    /**
+     * Upper bound of the adaptive call timeout, also used until enough latencies are observed
+     */
+    @Value("${invest-config.wallet.market-call.timeout.max-ms:3000}")
+    private long marketCallTimeoutMaxMs;
+
+    /**
+     * Adaptive timeout = observed p99 latency x this multiplier, within the bounds above
+     */
+    @Value("${invest-config.wallet.market-call.timeout.p99-multiplier:2.0}")
+    private double marketCallTimeoutMultiplier;
+
+    /**
+     * Number of recent latencies per operation the percentiles are computed from
+     */
+    @Value("${invest-config.wallet.market-call.latency-window:1024}")
+    private int marketCallLatencyWindow;
+
+    /**
+     * Whether a slow call is hedged with a second request to another Market Service instance
+     */
+    @Value("${invest-config.wallet.market-call.hedge.enabled:false}")
+    private boolean marketCallHedgeEnabled;
+
+    /**
+     * Observed latency percentile after which a hedge request is sent
+     */
+    @Value("${invest-config.wallet.market-call.hedge.percentile:0.95}")
+    private double marketCallHedgePercentile;
+
+    /**
+     * Whether Market Service quotes are requested in the compact binary wire format (JSON otherwise)
+     */
+    @Value("${invest-config.wallet.market-call.binary-quotes:true}")
+    private boolean marketCallBinaryQuotes;
+
+    /**
+     * How trade requests wait for their stripe: "blocking" holds the request thread until the
+     * trade completes, "async" releases it and completes the response from the stripe
+     */
+    @Value("${invest-config.wallet.trade-executor.mode:blocking}")
+    private String tradeExecutionMode;
+
+    /**
+     * Maximum number of user portfolios kept in the in-memory valuation
+     */
+    @Value("${invest-config.wallet.valuation.max-users:100000}")
+    private int valuationMaxUsers;
+
+    /**
+     * Largest page returned by keyset-paginated transaction history (also the fetch size when streaming)
+     */
+    @Value("${invest-config.wallet.history.max-page-size:500}")
+    private int historyMaxPageSize;
+
+    /**
+     * Acknowledge trades once journaled and apply them to the database in batches
+     */
+    @Value("${invest-config.wallet.journal.enabled:false}")
+    private boolean journalEnabled;
+
+    /**
+     * Directory holding the trade journal segments and checkpoint
+     */
+    @Value("${invest-config.wallet.journal.dir:./data/trade-journal}")
+    private String journalDir;
+
+    /**
+     * Size of one memory-mapped journal segment, in megabytes
+     */
+    @Value("${invest-config.wallet.journal.segment-size-mb:64}")
+    private int journalSegmentSizeMb;
+
+    /**
+     * Force journal writes to stable storage before acknowledging a trade
+     */
+    @Value("${invest-config.wallet.journal.fsync:true}")
+    private boolean journalFsync;
+
+    /**
+     * Maximum number of journaled trades applied in one database transaction
+     */
+    @Value("${invest-config.wallet.journal.batch-size:500}")
+    private int journalBatchSize;
+
+    /**
+     * How long the applier waits for new trades before checking again, in milliseconds
+     */
+    @Value("${invest-config.wallet.journal.apply-interval-ms:50}")
+    private long journalApplyIntervalMs;
+
+    /**
+     * Attempts at a failing batch before it is applied entry by entry and failing entries are quarantined
+     * Failures caused by an unreachable database are retried without limit and never quarantine
+     */
+    @Value("${invest-config.wallet.journal.max-batch-attempts:5}")
+    private int journalMaxBatchAttempts;
+
+    /**
+     * Number of user partitions replayed in parallel by a wallet rebuild (0 = one per CPU core)
+     */
+    @Value("${invest-config.wallet.rebuild.partitions:0}")
+    private int rebuildPartitions;
+
+    /**
+     * Transactions read per page while replaying
+     */
+    @Value("${invest-config.wallet.rebuild.page-size:5000}")
+    private int rebuildPageSize;
+
+    /**
+     * Only transactions older than this are replayed, so in-flight trades cannot slip under a snapshot
+     */
+    @Value("${invest-config.wallet.rebuild.lag-seconds:300}")
+    private long rebuildLagSeconds;
+
+    /**
+     * Number of snapshots kept; older ones are deleted after a new one is written
+     */
+    @Value("${invest-config.wallet.rebuild.snapshots-retained:3}")
+    private int rebuildSnapshotsRetained;
+
+    /**
+     * Maximum number of discrepancies listed in a rebuild report (all are counted)
+     */
+    @Value("${invest-config.wallet.rebuild.max-reported-discrepancies:1000}")
+    private int rebuildMaxReportedDiscrepancies;
+
+    /**
+     * Maximum number of open limit/stop orders per user
+     */
+    @Value("${invest-config.wallet.orders.max-open-per-user:100}")
+    private int ordersMaxOpenPerUser;
+
+    /**
+     * Whether trade requests release the request thread while waiting on their stripe
+     */
+    public boolean isAsyncTradeExecution() {
+        return "async".equalsIgnoreCase(tradeExecutionMode);
+    }
 }
@@ -0,0 +1,74 @@
+package com.investtrack.wallet.controller;
+
+import com.investtrack.wallet.analytics.TradeAnalyticsService;
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.TradeAggregateDTO;
+import com.investtrack.wallet.dto.UserAnalyticsDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Analytics REST Controller - Realized P&L, turnover and volume from precomputed trade totals
+ */
+@RestController
+@RequestMapping("/api/wallets")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController {
+
+    private final TradeAnalyticsService tradeAnalyticsService;
+    private final WalletConfig walletConfig;
+
+    /**
+     * Get a user's all-time trade totals, overall and per symbol
+     */
+    @GetMapping("/user/{userId}/analytics")
+    public ResponseEntity<UserAnalyticsDTO> getUserAnalytics(@PathVariable String userId) {
+        log.info("GET /api/wallets/user/{}/analytics - Fetching trade analytics", userId);
+        return ResponseEntity.ok(tradeAnalyticsService.getUserAnalytics(userId));
+    }
+
+    /**
+     * Get a user's daily trade totals per symbol (defaults to the history-days window)
+     */
+    @GetMapping("/user/{userId}/analytics/daily")
+    public ResponseEntity<List<TradeAggregateDTO>> getUserDailyAnalytics(
+            @PathVariable String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String symbol) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(walletConfig.getHistoryDays());
+        log.info("GET /api/wallets/user/{}/analytics/daily - {} to {}", userId, start, end);
+        return ResponseEntity.ok(tradeAnalyticsService.getUserDailyAnalytics(
+                userId, start, end, symbol != null ? symbol.toUpperCase() : null));
+    }
+
+    /**
+     * Get trade totals of every symbol across users
+     */
+    @GetMapping("/analytics/symbols")
+    public ResponseEntity<List<TradeAggregateDTO>> getAllSymbolAnalytics() {
+        log.info("GET /api/wallets/analytics/symbols - Fetching trade totals per symbol");
+        return ResponseEntity.ok(tradeAnalyticsService.getAllSymbolAnalytics());
+    }
+
+    /**
+     * Get trade totals of one symbol across users
+     */
+    @GetMapping("/analytics/symbols/{symbol}")
+    public ResponseEntity<TradeAggregateDTO> getSymbolAnalytics(@PathVariable String symbol) {
+        log.info("GET /api/wallets/analytics/symbols/{} - Fetching trade totals", symbol);
+        return ResponseEntity.ok(tradeAnalyticsService.getSymbolAnalytics(symbol.toUpperCase()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.investtrack.wallet.controller;
+
+import com.investtrack.wallet.dto.PriceChangeDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Price Event Controller - Receives price pushes from Market Service
+ * Each push is republished as an application event for local listeners (price cache, ...)
+ * Only reached with the shared internal token (see InternalTokenFilter)
+ */
+@RestController
+@RequestMapping("/internal/prices")
+@RequiredArgsConstructor
+@Slf4j
+public class PriceEventController {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Accept a price change push
+     */
+    @PostMapping("/changes")
+    public ResponseEntity<Void> onPriceChange(@RequestBody PriceChangeDTO priceChange) {
+        log.debug("POST /internal/prices/changes - {} -> {}", priceChange.getSymbol(), priceChange.getCurrentPrice());
+        eventPublisher.publishEvent(priceChange);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.investtrack.wallet.controller;
+
+import com.investtrack.wallet.dto.RestingOrderDTO;
+import com.investtrack.wallet.dto.RestingOrderRequestDTO;
+import com.investtrack.wallet.entity.RestingOrder;
+import com.investtrack.wallet.orders.RestingOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Resting Order REST Controller - API endpoints for limit and stop orders
+ */
+@RestController
+@RequestMapping("/api/wallets")
+@RequiredArgsConstructor
+@Slf4j
+public class RestingOrderController {
+
+    private final RestingOrderService restingOrderService;
+
+    /**
+     * Place a limit or stop order
+     */
+    @PostMapping("/orders")
+    public ResponseEntity<RestingOrderDTO> placeOrder(@Valid @RequestBody RestingOrderRequestDTO orderRequest) {
+        log.info("POST /api/wallets/orders - {} {} order for user {} on {} at {}",
+                orderRequest.getKind(), orderRequest.getType(), orderRequest.getUserId(),
+                orderRequest.getAssetSymbol(), orderRequest.getTriggerPrice());
+        return ResponseEntity.status(HttpStatus.CREATED).body(restingOrderService.placeOrder(orderRequest));
+    }
+
+    /**
+     * Cancel an open order
+     */
+    @DeleteMapping("/orders/{orderId}")
+    public ResponseEntity<RestingOrderDTO> cancelOrder(@PathVariable Long orderId, @RequestParam String userId) {
+        log.info("DELETE /api/wallets/orders/{} - Cancelling order for user {}", orderId, userId);
+        return ResponseEntity.ok(restingOrderService.cancelOrder(orderId, userId));
+    }
+
+    /**
+     * Get a user's orders, optionally filtered by status
+     */
+    @GetMapping("/user/{userId}/orders")
+    public ResponseEntity<List<RestingOrderDTO>> getUserOrders(
+            @PathVariable String userId,
+            @RequestParam(required = false) RestingOrder.OrderStatus status) {
+        log.info("GET /api/wallets/user/{}/orders - Fetching orders (status: {})", userId, status);
+        return ResponseEntity.ok(restingOrderService.getUserOrders(userId, status));
+    }
+}
@@ -1,15 +1,24 @@
 package com.investtrack.wallet.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investtrack.wallet.config.WalletConfig;
 import com.investtrack.wallet.dto.*;
+import com.investtrack.wallet.service.TradeService;
 import com.investtrack.wallet.service.WalletService;
+import com.investtrack.wallet.valuation.PortfolioValuationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Wallet REST Controller - API endpoints for wallet and transaction management
@@ -21,6 +30,10 @@ import java.util.List;
 public class WalletController {
 
     private final WalletService walletService;
+    private final TradeService tradeService;
+    private final PortfolioValuationService portfolioValuationService;
+    private final ObjectMapper objectMapper;
+    private final WalletConfig walletConfig;
 
     /**
      * Get user's portfolio
@@ -32,16 +45,35 @@ public class WalletController {
         return ResponseEntity.ok(portfolio);
     }
 
+    /**
+     * Get mark-to-market valuation of user's portfolio (served from memory, no Market Service call)
+     */
+    @GetMapping("/user/{userId}/valuation")
+    public ResponseEntity<PortfolioValuationDTO> getPortfolioValuation(@PathVariable String userId) {
+        log.info("GET /api/wallets/user/{}/valuation - Fetching portfolio valuation", userId);
+        PortfolioValuationDTO valuation = portfolioValuationService.getValuation(userId);
+        return ResponseEntity.ok(valuation);
+    }
+
     /**
      * Execute a trade (Buy or Sell)
+     * The quote is resolved first; the wallet update then runs on the user's trade stripe so trades of
+     * the same user never overlap. In async mode the request thread is released while the trade waits and runs.
      */
     @PostMapping("/trade")
-    public ResponseEntity<TradeResponseDTO> executeTrade(@Valid @RequestBody TradeRequestDTO tradeRequest) {
+    public CompletableFuture<ResponseEntity<TradeResponseDTO>> executeTrade(@Valid @RequestBody TradeRequestDTO tradeRequest) {
         log.info("POST /api/wallets/trade - Executing {} trade for user {}", 
                 tradeRequest.getType(), tradeRequest.getUserId());
         
-        TradeResponseDTO response = walletService.executeTrade(tradeRequest);
-        
+        if (walletConfig.isAsyncTradeExecution()) {
+            return tradeService.submitTrade(tradeRequest).thenApply(this::toTradeResponse);
+        }
+
+        TradeResponseDTO response = tradeService.executeTrade(tradeRequest);
+        return CompletableFuture.completedFuture(toTradeResponse(response));
+    }
+
+    private ResponseEntity<TradeResponseDTO> toTradeResponse(TradeResponseDTO response) {
         if (response.isSuccess()) {
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } else {
@@ -58,4 +90,40 @@ public class WalletController {
         List<TransactionDTO> transactions = walletService.getUserTransactionHistory(userId);
         return ResponseEntity.ok(transactions);
     }
+
+    /**
+     * Get one keyset page of user's transaction history (newest first)
+     */
+    @GetMapping(value = "/user/{userId}/transactions", params = {"limit", "!format"})
+    public ResponseEntity<TransactionPageDTO> getUserTransactionPage(
+            @PathVariable String userId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/wallets/user/{}/transactions?limit={} - Fetching transaction page", userId, limit);
+        TransactionPageDTO page = walletService.getUserTransactionPage(userId, limit, cursor);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Stream user's transaction history as newline-delimited JSON (newest first)
+     */
+    @GetMapping(value = "/user/{userId}/transactions", params = "format=ndjson",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserTransactionHistory(@PathVariable String userId) {
+        log.info("GET /api/wallets/user/{}/transactions?format=ndjson - Streaming transaction history", userId);
+        StreamingResponseBody body = out -> walletService.streamUserTransactionHistory(userId, page -> {
+            try {
+                for (TransactionDTO transaction : page) {
+                    out.write(objectMapper.writeValueAsBytes(transaction));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
@@ -0,0 +1,35 @@
+package com.investtrack.wallet.controller;
+
+import com.investtrack.wallet.dto.RebuildReportDTO;
+import com.investtrack.wallet.rebuild.WalletRebuildService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Wallet Rebuild Controller - Operator endpoint to replay wallets from the transactions table
+ * Not routed by the gateway.
+ */
+@RestController
+@RequestMapping("/internal/wallets")
+@RequiredArgsConstructor
+@Slf4j
+public class WalletRebuildController {
+
+    private final WalletRebuildService walletRebuildService;
+
+    /**
+     * Replay wallets and report discrepancies with the stored wallets
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<RebuildReportDTO> rebuild(
+            @RequestParam(defaultValue = "true") boolean fromSnapshot,
+            @RequestParam(defaultValue = "true") boolean writeSnapshot) {
+        log.info("POST /internal/wallets/rebuild - fromSnapshot: {}, writeSnapshot: {}", fromSnapshot, writeSnapshot);
+        return ResponseEntity.ok(walletRebuildService.rebuild(fromSnapshot, writeSnapshot));
+    }
+}
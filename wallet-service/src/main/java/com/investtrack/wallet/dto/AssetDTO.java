@@ -18,4 +18,9 @@ public class AssetDTO {
     private String name;
     private BigDecimal currentPrice;
     private String type;
+
+    /**
+     * Market Service's per-asset price version; orders cached quotes against price pushes
+     */
+    private long priceVersion;
 }
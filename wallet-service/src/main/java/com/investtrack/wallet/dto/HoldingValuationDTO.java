@@ -0,0 +1,25 @@
+package com.investtrack.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Holding Valuation DTO - Mark-to-market view of one position
+ * currentPrice and the derived values are null while no price is known for the symbol
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldingValuationDTO {
+    private String assetSymbol;
+    private BigDecimal quantity;
+    private BigDecimal averageBuyPrice;
+    private BigDecimal currentPrice;
+    private BigDecimal costBasis;
+    private BigDecimal marketValue;
+    private BigDecimal unrealizedPnl;
+    private BigDecimal weight;
+}
@@ -0,0 +1,23 @@
+package com.investtrack.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Portfolio Valuation DTO - Mark-to-market view of a user's whole portfolio
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioValuationDTO {
+    private String userId;
+    private BigDecimal costBasis;
+    private BigDecimal marketValue;
+    private BigDecimal unrealizedPnl;
+    private int unpricedHoldings;
+    private List<HoldingValuationDTO> holdings;
+}
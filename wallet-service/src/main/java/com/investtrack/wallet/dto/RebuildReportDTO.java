@@ -0,0 +1,43 @@
+package com.investtrack.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Rebuild Report DTO - Outcome of replaying wallets from the transactions table
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebuildReportDTO {
+
+    /**
+     * Snapshot the replay started from (null when it started from empty)
+     */
+    private Long startSnapshotId;
+    private Long startTransactionId;
+    private Long lastTransactionId;
+    private long transactionsReplayed;
+    private int positions;
+    private int partitions;
+
+    /**
+     * Wallets changed by transactions after lastTransactionId; not compared
+     */
+    private int walletsSkipped;
+    private int discrepancyCount;
+
+    /**
+     * First discrepancies found (capped by invest-config.wallet.rebuild.max-reported-discrepancies)
+     */
+    private List<WalletDiscrepancyDTO> discrepancies;
+
+    /**
+     * Snapshot written at the end of this run (null when none was written)
+     */
+    private Long snapshotId;
+    private long elapsedMillis;
+}
@@ -0,0 +1,32 @@
+package com.investtrack.wallet.dto;
+
+import com.investtrack.wallet.entity.RestingOrder;
+import com.investtrack.wallet.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resting Order DTO - Data Transfer Object for limit and stop orders
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestingOrderDTO {
+    private Long id;
+    private String userId;
+    private String assetSymbol;
+    private Transaction.TransactionType type;
+    private RestingOrder.OrderKind kind;
+    private BigDecimal quantity;
+    private BigDecimal triggerPrice;
+    private RestingOrder.OrderStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+    private BigDecimal fillPrice;
+    private Long transactionId;
+    private String statusMessage;
+}
@@ -0,0 +1,44 @@
+package com.investtrack.wallet.dto;
+
+import com.investtrack.wallet.entity.RestingOrder;
+import com.investtrack.wallet.entity.Transaction;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resting Order Request DTO - For placing limit and stop orders
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestingOrderRequestDTO {
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotBlank(message = "Asset symbol is required")
+    private String assetSymbol;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    @Digits(integer = 12, fraction = 8, message = "Quantity must have at most 12 integer digits and 8 decimals")
+    private BigDecimal quantity;
+
+    @NotNull(message = "Transaction type is required")
+    private Transaction.TransactionType type;
+
+    @NotNull(message = "Order kind is required")
+    private RestingOrder.OrderKind kind;
+
+    @NotNull(message = "Trigger price is required")
+    @Positive(message = "Trigger price must be positive")
+    @Digits(integer = 13, fraction = 2, message = "Trigger price must have at most 2 decimals")
+    private BigDecimal triggerPrice;
+}
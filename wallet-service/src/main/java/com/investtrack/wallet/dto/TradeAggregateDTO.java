@@ -0,0 +1,28 @@
+package com.investtrack.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Trade Aggregate DTO - Trade totals for a user and/or symbol, overall or for one day
+ * Volume is bought + sold quantity, turnover is bought + sold notional
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeAggregateDTO {
+    private String assetSymbol;
+    private LocalDate day;
+    private long tradeCount;
+    private BigDecimal boughtQuantity;
+    private BigDecimal soldQuantity;
+    private BigDecimal volume;
+    private BigDecimal boughtNotional;
+    private BigDecimal soldNotional;
+    private BigDecimal turnover;
+    private BigDecimal realizedPnl;
+}
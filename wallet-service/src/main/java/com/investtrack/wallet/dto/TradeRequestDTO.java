@@ -1,6 +1,7 @@
 package com.investtrack.wallet.dto;
 
 import com.investtrack.wallet.entity.Transaction;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -26,6 +27,7 @@ public class TradeRequestDTO {
 
     @NotNull(message = "Quantity is required")
     @Positive(message = "Quantity must be positive")
+    @Digits(integer = 12, fraction = 8, message = "Quantity must have at most 12 integer digits and 8 decimals")
     private BigDecimal quantity;
 
     @NotNull(message = "Transaction type is required")
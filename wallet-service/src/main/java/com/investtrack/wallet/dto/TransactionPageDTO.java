@@ -0,0 +1,20 @@
+package com.investtrack.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Transaction Page DTO - One keyset page of transaction history
+ * Pass nextCursor back as the cursor parameter to fetch the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageDTO {
+    private List<TransactionDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,19 @@
+package com.investtrack.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * User Analytics DTO - A user's all-time trade totals, overall and per symbol
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAnalyticsDTO {
+    private String userId;
+    private TradeAggregateDTO totals;
+    private List<TradeAggregateDTO> symbols;
+}
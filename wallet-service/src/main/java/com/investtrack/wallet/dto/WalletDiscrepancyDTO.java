@@ -0,0 +1,32 @@
+package com.investtrack.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Wallet Discrepancy DTO - A stored wallet that does not match the position replayed from transactions
+ * Stored values are null for MISSING_WALLET, replayed values are null for UNEXPECTED_WALLET
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletDiscrepancyDTO {
+
+    private String userId;
+    private String assetSymbol;
+    private Kind kind;
+    private BigDecimal storedQuantity;
+    private BigDecimal replayedQuantity;
+    private BigDecimal storedAverageBuyPrice;
+    private BigDecimal replayedAverageBuyPrice;
+
+    public enum Kind {
+        QUANTITY_MISMATCH,
+        AVERAGE_PRICE_MISMATCH,
+        MISSING_WALLET,
+        UNEXPECTED_WALLET
+    }
+}
@@ -0,0 +1,111 @@
+package com.investtrack.wallet.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resting Order Entity - A limit or stop order waiting for a price change to trigger it
+ */
+@Entity
+@Table(name = "resting_orders", indexes = {
+    @Index(name = "idx_resting_orders_status", columnList = "status"),
+    @Index(name = "idx_resting_orders_user", columnList = "userId, createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestingOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resting_order_seq")
+    @SequenceGenerator(name = "resting_order_seq", sequenceName = "resting_orders_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String userId;
+
+    @Column(nullable = false, length = 10)
+    private String assetSymbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Transaction.TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private OrderKind kind;
+
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal triggerPrice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime closedAt;
+
+    /**
+     * Price the order was filled at (the price change that triggered it)
+     */
+    @Column(precision = 15, scale = 2)
+    private BigDecimal fillPrice;
+
+    /**
+     * Transaction recorded by the fill (null until a journaled trade is applied)
+     */
+    private Long transactionId;
+
+    /**
+     * Why the order was rejected or cancelled
+     */
+    private String statusMessage;
+
+    public enum OrderKind {
+        /**
+         * BUY fills at or below the trigger price, SELL at or above it
+         */
+        LIMIT,
+        /**
+         * BUY fills at or above the trigger price, SELL at or below it
+         */
+        STOP
+    }
+
+    public enum OrderStatus {
+        OPEN,
+        /**
+         * Claimed by one instance whose journaled trade is in flight; never filled again
+         */
+        FILLING,
+        FILLED,
+        CANCELLED,
+        REJECTED
+    }
+
+    /**
+     * Whether the order triggers when the price falls to its trigger (buy limits, sell stops)
+     * rather than when it rises to it (sell limits, buy stops)
+     */
+    public boolean triggersOnFall() {
+        return (type == Transaction.TransactionType.BUY) == (kind == OrderKind.LIMIT);
+    }
+
+    /**
+     * Whether the given price reaches this order's trigger
+     */
+    public boolean isTriggeredBy(BigDecimal price) {
+        int comparison = price.compareTo(triggerPrice);
+        return triggersOnFall() ? comparison <= 0 : comparison >= 0;
+    }
+}
@@ -15,20 +15,37 @@ import java.time.LocalDateTime;
  * Transaction Entity - Represents a buy/sell transaction
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_wallet_timestamp_id", columnList = "wallet_id, timestamp, id"),
+    @Index(name = "idx_transactions_user_timestamp_id", columnList = "user_id, timestamp, id"),
+    @Index(name = "idx_transactions_recorded_at_id", columnList = "recordedAt, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_transactions_journal", columnNames = {"journalId", "journalSequence"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    /**
+     * Taken one at a time from transactions_seq, so ids follow insert order across instances;
+     * the wallet rebuild relies on it (a pooled allocation would hand each instance its own block)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 1)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "wallet_id", nullable = false)
     private Wallet wallet;
 
+    /**
+     * Copy of the wallet's userId, so a user's history is one range of the (user_id, timestamp, id) index
+     */
+    @Column(name = "user_id", length = 50)
+    private String userId;
+
     @NotNull(message = "Transaction type is required")
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 10)
@@ -52,6 +69,23 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
+    /**
+     * When the row was inserted; differs from timestamp for journaled trades applied later
+     */
+    @Column(updatable = false)
+    private LocalDateTime recordedAt;
+
+    /**
+     * Id of the trade journal this row was applied from (null for trades written directly)
+     */
+    @Column(length = 36)
+    private String journalId;
+
+    /**
+     * Sequence of the record within that journal; unique only together with journalId
+     */
+    private Long journalSequence;
+
     public enum TransactionType {
         BUY,
         SELL
@@ -59,6 +93,10 @@ public class Transaction {
 
     @PrePersist
     protected void onCreate() {
-        timestamp = LocalDateTime.now();
+        recordedAt = LocalDateTime.now();
+        // Keep the trade time of journaled trades applied later
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
     }
 }
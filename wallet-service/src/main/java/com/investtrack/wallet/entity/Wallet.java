@@ -25,7 +25,8 @@ import java.util.List;
 public class Wallet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_seq")
+    @SequenceGenerator(name = "wallet_seq", sequenceName = "wallets_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "User ID is required")
@@ -46,6 +47,14 @@ public class Wallet {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal averageBuyPrice;
 
+    /**
+     * Optimistic lock: a write based on a stale read of this position fails instead of overwriting it
+     * The default lets ddl-auto add the column to a populated table
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "wallet", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Transaction> transactions = new ArrayList<>();
 }
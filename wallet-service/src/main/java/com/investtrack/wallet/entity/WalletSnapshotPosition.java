@@ -0,0 +1,51 @@
+package com.investtrack.wallet.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Wallet Snapshot Position - One replayed position inside a snapshot run
+ * Written and read in bulk with JDBC; the mapping only defines the table
+ */
+@Entity
+@Table(name = "wallet_snapshot_positions")
+@IdClass(WalletSnapshotPosition.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletSnapshotPosition {
+
+    @Id
+    private Long runId;
+
+    @Id
+    @Column(length = 50)
+    private String userId;
+
+    @Id
+    @Column(length = 10)
+    private String assetSymbol;
+
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal averageBuyPrice;
+
+    @Column(nullable = false)
+    private Long lastTransactionId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long runId;
+        private String userId;
+        private String assetSymbol;
+    }
+}
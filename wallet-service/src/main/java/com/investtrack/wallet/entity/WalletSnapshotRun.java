@@ -0,0 +1,36 @@
+package com.investtrack.wallet.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wallet Snapshot Run - Header of a snapshot of all positions replayed up to a transaction id
+ */
+@Entity
+@Table(name = "wallet_snapshot_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletSnapshotRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_snapshot_run_seq")
+    @SequenceGenerator(name = "wallet_snapshot_run_seq", sequenceName = "wallet_snapshot_runs_seq", allocationSize = 1)
+    private Long id;
+
+    /**
+     * Every transaction with an id up to and including this one is folded into the snapshot
+     */
+    @Column(nullable = false)
+    private Long lastTransactionId;
+
+    @Column(nullable = false)
+    private Integer positions;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
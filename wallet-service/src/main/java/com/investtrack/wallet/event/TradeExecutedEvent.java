@@ -0,0 +1,28 @@
+package com.investtrack.wallet.event;
+
+import com.investtrack.wallet.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Trade Executed Event - Published for every successful trade
+ * Carries the resulting position so listeners can apply it idempotently
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeExecutedEvent {
+    private String userId;
+    private String assetSymbol;
+    private Transaction.TransactionType type;
+    private BigDecimal quantity;
+    private BigDecimal price;
+    private BigDecimal previousAverageBuyPrice;
+    private BigDecimal resultingQuantity;
+    private BigDecimal resultingAverageBuyPrice;
+    private LocalDateTime timestamp;
+}
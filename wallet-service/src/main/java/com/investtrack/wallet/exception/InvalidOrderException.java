@@ -0,0 +1,10 @@
+package com.investtrack.wallet.exception;
+
+/**
+ * Exception thrown when a resting order cannot be accepted
+ */
+public class InvalidOrderException extends RuntimeException {
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.investtrack.wallet.exception;
+
+/**
+ * Exception thrown when a resting order does not exist for the requesting user
+ */
+public class OrderNotFoundException extends RuntimeException {
+    public OrderNotFoundException(String message) {
+        super(message);
+    }
+}
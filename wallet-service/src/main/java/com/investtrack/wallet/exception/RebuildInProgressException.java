@@ -0,0 +1,10 @@
+package com.investtrack.wallet.exception;
+
+/**
+ * Exception thrown when a wallet rebuild is requested while another one is running
+ */
+public class RebuildInProgressException extends RuntimeException {
+    public RebuildInProgressException(String message) {
+        super(message);
+    }
+}
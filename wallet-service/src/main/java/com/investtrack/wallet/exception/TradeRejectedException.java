@@ -0,0 +1,10 @@
+package com.investtrack.wallet.exception;
+
+/**
+ * Exception thrown when a trade cannot be queued for execution
+ */
+public class TradeRejectedException extends RuntimeException {
+    public TradeRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.investtrack.wallet.exception;
+
+/**
+ * Exception thrown when a trade does not complete within the trade executor timeout
+ * started tells whether the trade had begun running and may still be applied
+ */
+public class TradeTimeoutException extends RuntimeException {
+
+    private final boolean started;
+
+    public TradeTimeoutException(String message, boolean started) {
+        super(message);
+        this.started = started;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+}
@@ -0,0 +1,178 @@
+package com.investtrack.wallet.executor;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.exception.TradeRejectedException;
+import com.investtrack.wallet.exception.TradeTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Sharded Trade Executor - Routes work for a user onto one single-threaded stripe
+ *
+ * All trades of a user run in submission order on the same thread, so the
+ * read-modify-write on that user's wallets never races with itself (no lost updates,
+ * no duplicate insert against the (userId, assetSymbol) constraint). Different users
+ * hash to different stripes and run in parallel. Stripes are per JVM: across instances,
+ * Wallet's optimistic version rejects a write based on a stale read (HTTP 409) instead. Stripes only run the wallet read-modify-write:
+ * anything remote (quotes) is resolved before a task is submitted, so a stripe never waits on the network.
+ *
+ * With spring.threads.virtual.enabled=true on Java 21+, each stripe runs on a virtual thread and the default
+ * stripe count is virtual-stripes instead of the core count: a stripe blocked on JDBC then parks instead of
+ * holding a platform thread, and in-flight trades are bounded by the stripes and the connection pool.
+ */
+@Component
+@Slf4j
+public class ShardedTradeExecutor {
+
+    private final ThreadPoolExecutor[] stripes;
+    private final long timeoutMillis;
+    private final Timer queueWait;
+    private final Counter timedOutQueued;
+    private final Counter timedOutRunning;
+
+    public ShardedTradeExecutor(WalletConfig walletConfig, Environment environment, MeterRegistry meterRegistry) {
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        int stripeCount;
+        if (walletConfig.getTradeExecutorStripes() > 0) {
+            stripeCount = walletConfig.getTradeExecutorStripes();
+        } else if (virtual) {
+            stripeCount = walletConfig.getTradeExecutorVirtualStripes();
+        } else {
+            stripeCount = Runtime.getRuntime().availableProcessors();
+        }
+
+        this.stripes = new ThreadPoolExecutor[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            String threadName = "trade-stripe-" + i;
+            ThreadFactory threadFactory = virtual
+                    ? new VirtualThreadTaskExecutor(threadName + "-").getVirtualThreadFactory()
+                    : runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    };
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(walletConfig.getTradeExecutorQueueCapacity()), threadFactory);
+        }
+
+        this.timeoutMillis = walletConfig.getTradeExecutorTimeoutMs();
+        this.queueWait = Timer.builder("wallet.trade.executor.queue.wait")
+                .description("Time a trade waits in its stripe before it starts running")
+                .register(meterRegistry);
+        this.timedOutQueued = Counter.builder("wallet.trade.executor.timeouts")
+                .description("Trades whose caller stopped waiting for them")
+                .tag("state", "queued")
+                .register(meterRegistry);
+        this.timedOutRunning = Counter.builder("wallet.trade.executor.timeouts")
+                .description("Trades whose caller stopped waiting for them")
+                .tag("state", "running")
+                .register(meterRegistry);
+        Gauge.builder("wallet.trade.executor.queue.depth", this, ShardedTradeExecutor::queueDepth)
+                .description("Trades waiting across all stripes")
+                .register(meterRegistry);
+        Gauge.builder("wallet.trade.executor.queue.depth.max", this, ShardedTradeExecutor::maxStripeDepth)
+                .description("Trades waiting in the busiest stripe")
+                .register(meterRegistry);
+
+        log.info("Trade executor started with {} {} stripes", stripeCount, virtual ? "virtual" : "platform");
+    }
+
+    /**
+     * Queue a task on the user's stripe
+     * The future fails with TradeTimeoutException if the task has not finished within the timeout;
+     * a task that had not started by then is never run
+     */
+    public <T> CompletableFuture<T> submit(String userId, Supplier<T> task) {
+        ThreadPoolExecutor stripe = stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+        long enqueuedAt = System.nanoTime();
+        // Claimed either by the stripe when the task starts or by the timeout while it is still queued
+        AtomicBoolean claimed = new AtomicBoolean();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            stripe.execute(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(task.get());
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            throw new TradeRejectedException("Too many pending trades. Please try again later.");
+        }
+        return result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (!(cause instanceof TimeoutException)) {
+                throw ex instanceof CompletionException completion ? completion : new CompletionException(cause);
+            }
+            if (claimed.compareAndSet(false, true)) {
+                timedOutQueued.increment();
+                throw new TradeTimeoutException("Trade was not started within " + timeoutMillis
+                        + " ms and was not executed. Please try again later.", false);
+            }
+            timedOutRunning.increment();
+            throw new TradeTimeoutException("Trade did not complete within " + timeoutMillis
+                    + " ms and may still be applied. Check your transactions before retrying.", true);
+        });
+    }
+
+    /**
+     * Run a task on the user's stripe and wait for its result, at most the executor timeout
+     * Exceptions thrown by the task are rethrown unchanged
+     */
+    public <T> T execute(String userId, Supplier<T> task) {
+        try {
+            return submit(userId, task).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private double queueDepth() {
+        return Arrays.stream(stripes).mapToInt(stripe -> stripe.getQueue().size()).sum();
+    }
+
+    private double maxStripeDepth() {
+        return Arrays.stream(stripes).mapToInt(stripe -> stripe.getQueue().size()).max().orElse(0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ThreadPoolExecutor stripe : stripes) {
+            try {
+                stripe.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
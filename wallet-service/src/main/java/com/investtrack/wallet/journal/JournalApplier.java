@@ -0,0 +1,269 @@
+package com.investtrack.wallet.journal;
+
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.entity.Wallet;
+import com.investtrack.wallet.repository.TransactionRepository;
+import com.investtrack.wallet.repository.WalletRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Journal Applier - Background writer that moves journaled trades into the database
+ *
+ * Entries are drained in sequence order and applied in batches, one database
+ * transaction (group commit) per batch. A failed batch is retried as a whole. Once it
+ * has failed maxBatchAttempts times it is applied entry by entry, and an entry that
+ * still fails is handed to the quarantine (dead-letter segment) so the entries behind
+ * it keep flowing. Failures from an unreachable database are transient: they are
+ * retried without limit and never quarantine anything.
+ *
+ * Entries carry absolute wallet state, so before writing one the applier checks that nobody
+ * else changed the position: the stored quantity must be the one this applier last wrote
+ * (or, for the first write since startup, the quantity the trade started from). A position
+ * written by another instance fails that check and the entry is quarantined instead of
+ * overwriting it; Wallet's version catches a write that lands between the read and the update.
+ */
+@Slf4j
+class JournalApplier {
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LongConsumer onApplied;
+    private final Quarantine quarantine;
+    private final Runnable onFailure;
+    private final int batchSize;
+    private final long intervalMs;
+    private final int maxBatchAttempts;
+
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+    // Quantity this applier last committed per position; only touched by the worker thread
+    private final Map<String, BigDecimal> lastWritten = new HashMap<>();
+    private volatile boolean running;
+    private volatile String journalId;
+    private Thread worker;
+
+    JournalApplier(WalletRepository walletRepository,
+                   TransactionRepository transactionRepository,
+                   TransactionTemplate transactionTemplate,
+                   LongConsumer onApplied,
+                   Quarantine quarantine,
+                   Runnable onFailure,
+                   int batchSize,
+                   long intervalMs,
+                   int maxBatchAttempts) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.onApplied = onApplied;
+        this.quarantine = quarantine;
+        this.onFailure = onFailure;
+        this.batchSize = batchSize;
+        this.intervalMs = intervalMs;
+        this.maxBatchAttempts = Math.max(1, maxBatchAttempts);
+    }
+
+    void enqueue(JournalEntry entry) {
+        queue.add(entry);
+    }
+
+    int backlog() {
+        return queue.size();
+    }
+
+    /**
+     * Start applying; rows are stamped with the given journal id and deduplicated on (journal id, sequence)
+     */
+    void start(String journalId) {
+        this.journalId = journalId;
+        running = true;
+        worker = new Thread(this::run, "trade-journal-applier");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stop after applying everything already queued
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void run() {
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        int failedAttempts = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    JournalEntry first = queue.poll(intervalMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                long appliedUpTo = failedAttempts < maxBatchAttempts ? applyBatch(batch) : applyEntryByEntry(batch);
+                batch.clear();
+                failedAttempts = 0;
+                onApplied.accept(appliedUpTo);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                onFailure.run();
+                if (!isTransient(ex)) {
+                    failedAttempts++;
+                }
+                log.error("Failed to apply {} journaled trades (attempt {} of {} before quarantine), retrying: {}",
+                        batch.size(), failedAttempts, maxBatchAttempts, ex.getMessage(), ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Apply each entry in its own transaction and quarantine the ones that still fail
+     * A transient failure aborts the pass; the batch is retried and applied entries are deduplicated
+     */
+    private long applyEntryByEntry(List<JournalEntry> batch) throws Exception {
+        long appliedUpTo = 0;
+        for (JournalEntry entry : batch) {
+            try {
+                applyBatch(List.of(entry));
+            } catch (Exception ex) {
+                if (isTransient(ex)) {
+                    throw ex;
+                }
+                quarantine.accept(entry, ex);
+            }
+            appliedUpTo = entry.sequence();
+        }
+        return appliedUpTo;
+    }
+
+    /**
+     * Whether a failure comes from the database being unreachable rather than from the entries
+     */
+    private static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long applyBatch(List<JournalEntry> batch) {
+        Map<String, Wallet> wallets = new HashMap<>();
+        Long appliedUpTo = transactionTemplate.execute(status -> {
+            Set<Long> alreadyApplied = transactionRepository.findExistingJournalSequences(journalId,
+                    batch.stream().map(JournalEntry::sequence).collect(Collectors.toList()));
+
+            List<Transaction> transactions = new ArrayList<>(batch.size());
+            long maxSequence = 0;
+
+            for (JournalEntry entry : batch) {
+                maxSequence = Math.max(maxSequence, entry.sequence());
+                if (alreadyApplied.contains(entry.sequence())) {
+                    continue;
+                }
+
+                Wallet wallet = wallets.get(entry.positionKey());
+                if (wallet == null) {
+                    wallet = walletRepository.findByUserIdAndAssetSymbol(entry.userId(), entry.assetSymbol())
+                            .orElseGet(() -> new Wallet(null, entry.userId(), entry.assetSymbol(),
+                                    BigDecimal.ZERO, BigDecimal.ZERO, null, new ArrayList<>()));
+                    checkNotChangedElsewhere(entry, wallet.getQuantity());
+                    wallets.put(entry.positionKey(), wallet);
+                }
+                wallet.setQuantity(entry.resultingQuantity());
+                wallet.setAverageBuyPrice(entry.resultingAverageBuyPrice());
+                if (wallet.getId() == null) {
+                    wallet = walletRepository.save(wallet);
+                    wallets.put(entry.positionKey(), wallet);
+                }
+
+                Transaction transaction = new Transaction();
+                transaction.setWallet(wallet);
+                transaction.setUserId(wallet.getUserId());
+                transaction.setType(entry.type());
+                transaction.setAssetSymbol(entry.assetSymbol());
+                transaction.setQuantity(entry.quantity());
+                transaction.setPrice(entry.price());
+                transaction.setTimestamp(entry.timestamp());
+                transaction.setJournalId(journalId);
+                transaction.setJournalSequence(entry.sequence());
+                transactions.add(transaction);
+            }
+
+            walletRepository.saveAll(wallets.values());
+            transactionRepository.saveAll(transactions);
+            return maxSequence;
+        });
+        // Committed: these quantities are now ours
+        wallets.forEach((key, wallet) -> lastWritten.put(key, wallet.getQuantity()));
+
+        log.debug("Applied {} journaled trades up to sequence {}", batch.size(), appliedUpTo);
+        return appliedUpTo;
+    }
+
+    /**
+     * Fail the entry when its position holds a quantity this journal did not write
+     */
+    private void checkNotChangedElsewhere(JournalEntry entry, BigDecimal storedQuantity) {
+        BigDecimal expected = lastWritten.get(entry.positionKey());
+        if (expected == null) {
+            expected = entry.type() == Transaction.TransactionType.BUY
+                    ? entry.resultingQuantity().subtract(entry.quantity())
+                    : entry.resultingQuantity().add(entry.quantity());
+        }
+        if (storedQuantity.compareTo(expected) != 0) {
+            throw new IllegalStateException("Position " + entry.assetSymbol() + " of user " + entry.userId()
+                    + " holds " + storedQuantity + " but this journal expected " + expected
+                    + "; it was changed by another instance");
+        }
+    }
+
+    /**
+     * Takes an entry that cannot be applied out of the apply path; throws if it could not be kept safe
+     */
+    @FunctionalInterface
+    interface Quarantine {
+        void accept(JournalEntry entry, Exception cause) throws IOException;
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(Math.max(intervalMs, 1000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
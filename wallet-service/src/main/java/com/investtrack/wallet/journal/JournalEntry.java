@@ -0,0 +1,87 @@
+package com.investtrack.wallet.journal;
+
+import com.investtrack.wallet.entity.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Journal Entry - A journaled trade together with the wallet state it produced
+ *
+ * The resulting quantity and average price are stored as absolute values, so applying
+ * an entry twice leaves the wallet unchanged; the transaction row is deduplicated by
+ * its journal sequence.
+ */
+record JournalEntry(long sequence,
+                    Long walletId,
+                    String userId,
+                    String assetSymbol,
+                    Transaction.TransactionType type,
+                    BigDecimal quantity,
+                    BigDecimal price,
+                    BigDecimal resultingQuantity,
+                    BigDecimal resultingAverageBuyPrice,
+                    LocalDateTime timestamp) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    String positionKey() {
+        return TradeJournal.positionKey(userId, assetSymbol);
+    }
+
+    JournalEntry withSequence(long newSequence) {
+        return new JournalEntry(newSequence, walletId, userId, assetSymbol, type, quantity, price,
+                resultingQuantity, resultingAverageBuyPrice, timestamp);
+    }
+
+    byte[] encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(walletId == null ? -1L : walletId);
+            out.writeUTF(userId);
+            out.writeUTF(assetSymbol);
+            out.writeByte(type.ordinal());
+            out.writeUTF(quantity.toPlainString());
+            out.writeUTF(price.toPlainString());
+            out.writeUTF(resultingQuantity.toPlainString());
+            out.writeUTF(resultingAverageBuyPrice.toPlainString());
+            out.writeUTF(timestamp.toString());
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static JournalEntry decode(JournalRecord record) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.payload()));
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported journal entry format " + version);
+            }
+            long walletId = in.readLong();
+            return new JournalEntry(
+                    record.sequence(),
+                    walletId < 0 ? null : walletId,
+                    in.readUTF(),
+                    in.readUTF(),
+                    Transaction.TransactionType.values()[in.readByte()],
+                    new BigDecimal(in.readUTF()),
+                    new BigDecimal(in.readUTF()),
+                    new BigDecimal(in.readUTF()),
+                    new BigDecimal(in.readUTF()),
+                    LocalDateTime.parse(in.readUTF()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.investtrack.wallet.journal;
+
+/**
+ * Journal Record - One raw entry of the trade journal
+ */
+record JournalRecord(long sequence, byte[] payload) {
+}
@@ -0,0 +1,272 @@
+package com.investtrack.wallet.journal;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.entity.Wallet;
+import com.investtrack.wallet.rebuild.TransactionReplayRow;
+import com.investtrack.wallet.repository.TransactionRepository;
+import com.investtrack.wallet.repository.WalletRepository;
+import com.investtrack.wallet.store.TradeStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Journaled Trade Store - Write-behind trade persistence
+ *
+ * A trade is acknowledged once its journal record is durable. Positions touched by
+ * journaled-but-unapplied trades are served from an in-memory overlay, so reads on the
+ * trade path always see the latest state; an overlay entry is dropped only after the
+ * batch containing its last trade has committed. On startup, records after the
+ * checkpoint are replayed into the overlay and re-applied.
+ *
+ * A trade the applier cannot write is quarantined to the journal's dead-letter segment
+ * and counted in wallet.journal.quarantined, which must alert: its transaction row is
+ * missing until an operator replays it. Its position is still superseded by the next
+ * trade on that position, since entries carry absolute wallet state.
+ *
+ * Applied rows carry the journal's id with the sequence. Startup refuses a directory whose
+ * checkpoint is gone while the database already holds rows of its id, because sequences would
+ * then be handed out again.
+ */
+@Component
+@ConditionalOnProperty(name = "invest-config.wallet.journal.enabled", havingValue = "true")
+@Slf4j
+public class JournaledTradeStore implements TradeStore {
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final TradeJournal journal;
+    private final JournalApplier applier;
+    private final Map<String, PendingPosition> pending = new ConcurrentHashMap<>();
+    private volatile List<TransactionReplayRow> recovered = List.of();
+
+    private final Timer appendLatency;
+    private final DistributionSummary groupCommitSize;
+    private final Counter applyFailures;
+    private final Counter quarantined;
+    private final AtomicInteger deadLetters = new AtomicInteger();
+
+    public JournaledTradeStore(WalletConfig walletConfig,
+                               WalletRepository walletRepository,
+                               TransactionRepository transactionRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.journal = new TradeJournal(
+                Path.of(walletConfig.getJournalDir()),
+                walletConfig.getJournalSegmentSizeMb() * 1024 * 1024,
+                walletConfig.isJournalFsync());
+        this.applier = new JournalApplier(
+                walletRepository,
+                transactionRepository,
+                new TransactionTemplate(transactionManager),
+                this::onApplied,
+                this::quarantine,
+                this::onApplyFailure,
+                walletConfig.getJournalBatchSize(),
+                walletConfig.getJournalApplyIntervalMs(),
+                walletConfig.getJournalMaxBatchAttempts());
+
+        this.appendLatency = Timer.builder("wallet.journal.append")
+                .description("Time to durably append a trade to the journal")
+                .register(meterRegistry);
+        this.groupCommitSize = DistributionSummary.builder("wallet.journal.group.commit.size")
+                .description("Journal records made durable by one flush")
+                .register(meterRegistry);
+        this.applyFailures = Counter.builder("wallet.journal.apply.failures")
+                .description("Failed attempts to apply journaled trades to the database")
+                .register(meterRegistry);
+        this.quarantined = Counter.builder("wallet.journal.quarantined")
+                .description("Journaled trades moved to the dead-letter segment because they could not be applied")
+                .register(meterRegistry);
+        Gauge.builder("wallet.journal.dead.letters", deadLetters, AtomicInteger::get)
+                .description("Trades in the dead-letter segment, awaiting manual replay")
+                .register(meterRegistry);
+        Gauge.builder("wallet.journal.pending.positions", pending, Map::size).register(meterRegistry);
+        Gauge.builder("wallet.journal.apply.backlog", applier, JournalApplier::backlog).register(meterRegistry);
+    }
+
+    /**
+     * Open the journal, rebuild the overlay from unapplied records and start the applier
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        boolean hasCheckpoint = journal.hasCheckpoint();
+        long checkpoint = journal.readCheckpoint();
+        List<JournalRecord> unapplied = journal.open(checkpoint);
+        String journalId = journal.readJournalId();
+        if (journalId == null) {
+            if (!unapplied.isEmpty()) {
+                throw new IllegalStateException("Trade journal holds " + unapplied.size() + " unapplied trades but no"
+                        + " journal id; it was written by an older version, let that version drain it first");
+            }
+            journalId = journal.createJournalId();
+            log.info("Trade journal initialised with id {}", journalId);
+        } else if (!hasCheckpoint && transactionRepository.existsByJournalId(journalId)) {
+            throw new IllegalStateException("Trade journal " + journalId + " has no checkpoint but the database already"
+                    + " holds trades applied from it; restore the checkpoint instead of reusing its sequences");
+        }
+        deadLetters.set(journal.countDeadLetters());
+        if (deadLetters.get() > 0) {
+            log.error("Trade journal holds {} quarantined trades that were never applied", deadLetters.get());
+        }
+        List<TransactionReplayRow> replayed = new ArrayList<>(unapplied.size());
+        for (JournalRecord record : unapplied) {
+            JournalEntry entry = JournalEntry.decode(record);
+            pending.put(entry.positionKey(), PendingPosition.of(entry));
+            replayed.add(new TransactionReplayRow(null, entry.userId(), entry.assetSymbol(), entry.type(),
+                    entry.quantity(), entry.price(), entry.timestamp(), journalId, entry.sequence()));
+            applier.enqueue(entry);
+        }
+        recovered = List.copyOf(replayed);
+        if (!unapplied.isEmpty()) {
+            log.info("Replaying {} unapplied journaled trades after checkpoint {}", unapplied.size(), checkpoint);
+        }
+        applier.start(journalId);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        applier.stop();
+        journal.close();
+    }
+
+    @Override
+    public Optional<Wallet> findWallet(String userId, String assetSymbol) {
+        PendingPosition position = pending.get(TradeJournal.positionKey(userId, assetSymbol));
+        if (position != null) {
+            return Optional.of(position.toWallet(userId, assetSymbol));
+        }
+        // Detached copy: the caller mutates it and must not trigger a dirty-check flush
+        return walletRepository.findByUserIdAndAssetSymbol(userId, assetSymbol).map(JournaledTradeStore::copyOf);
+    }
+
+    @Override
+    public List<Wallet> findWallets(String userId) {
+        Map<String, Wallet> wallets = new LinkedHashMap<>();
+        for (Wallet wallet : walletRepository.findByUserId(userId)) {
+            wallets.put(wallet.getAssetSymbol(), copyOf(wallet));
+        }
+        String prefix = TradeJournal.positionKey(userId, "");
+        pending.forEach((key, position) -> {
+            if (key.startsWith(prefix)) {
+                String symbol = key.substring(prefix.length());
+                wallets.put(symbol, position.toWallet(userId, symbol));
+            }
+        });
+        return new ArrayList<>(wallets.values());
+    }
+
+    /**
+     * Wallet state is journaled together with its transaction in saveTransaction
+     */
+    @Override
+    public Wallet saveWallet(Wallet wallet) {
+        return wallet;
+    }
+
+    @Override
+    public Transaction saveTransaction(Transaction transaction) {
+        Wallet wallet = transaction.getWallet();
+        JournalEntry entry = new JournalEntry(
+                0L,
+                wallet.getId(),
+                wallet.getUserId(),
+                transaction.getAssetSymbol(),
+                transaction.getType(),
+                transaction.getQuantity(),
+                transaction.getPrice(),
+                wallet.getQuantity(),
+                wallet.getAverageBuyPrice(),
+                transaction.getTimestamp());
+
+        long start = System.nanoTime();
+        long sequence;
+        try {
+            sequence = journal.append(entry.encode());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append trade to journal", ex);
+        }
+        long committed = journal.awaitDurable(sequence);
+        appendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (committed > 0) {
+            groupCommitSize.record(committed);
+        }
+
+        JournalEntry journaled = entry.withSequence(sequence);
+        pending.put(journaled.positionKey(), PendingPosition.of(journaled));
+        applier.enqueue(journaled);
+        return transaction;
+    }
+
+    @Override
+    public List<TransactionReplayRow> recoveredTrades() {
+        return recovered;
+    }
+
+    /**
+     * Keep an entry that cannot be applied in the dead-letter segment so the applier can move past it
+     */
+    private void quarantine(JournalEntry entry, Exception cause) throws IOException {
+        journal.deadLetter(new JournalRecord(entry.sequence(), entry.encode()));
+        quarantined.increment();
+        deadLetters.incrementAndGet();
+        log.error("Quarantined journaled trade {} ({} {} {} for user {}) after repeated failures: {}",
+                entry.sequence(), entry.type(), entry.quantity(), entry.assetSymbol(), entry.userId(),
+                cause.getMessage(), cause);
+    }
+
+    private void onApplyFailure() {
+        applyFailures.increment();
+    }
+
+    private void onApplied(long sequence) {
+        try {
+            journal.markApplied(sequence);
+        } catch (IOException ex) {
+            log.warn("Could not write journal checkpoint {}: {}", sequence, ex.getMessage());
+        }
+        pending.entrySet().removeIf(entry -> entry.getValue().sequence() <= sequence);
+    }
+
+    private static Wallet copyOf(Wallet wallet) {
+        return new Wallet(wallet.getId(), wallet.getUserId(), wallet.getAssetSymbol(),
+                wallet.getQuantity(), wallet.getAverageBuyPrice(), wallet.getVersion(), new ArrayList<>());
+    }
+
+    private record PendingPosition(Long walletId, BigDecimal quantity, BigDecimal averageBuyPrice, long sequence) {
+
+        static PendingPosition of(JournalEntry entry) {
+            return new PendingPosition(entry.walletId(), entry.resultingQuantity(),
+                    entry.resultingAverageBuyPrice(), entry.sequence());
+        }
+
+        Wallet toWallet(String userId, String assetSymbol) {
+            return new Wallet(walletId, userId, assetSymbol, quantity, averageBuyPrice, null, new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.investtrack.wallet.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Trade Journal - Append-only log of trades in memory-mapped segment files
+ *
+ * Record layout: [int payloadLength][long sequence][payload][int crc32(sequence, payload)].
+ * A zero length (untouched, zero-filled space) marks the end of a segment; a record whose
+ * checksum does not match is a torn write and is where appending resumes after a crash.
+ *
+ * Durability uses group commit: appends only copy into the mapped segment, and
+ * awaitDurable forces everything written so far in one msync. Callers that queue on
+ * the flush lock behind a force find their record already durable and return at once.
+ * Locks held across a force are ReentrantLocks, so virtual threads park on them instead of pinning a carrier.
+ *
+ * Sequences are only unique within one journal directory. Each directory therefore carries a random
+ * journal id (file journal-id, next to the checkpoint) that is stored with every applied row, and
+ * a file lock keeps a second process from opening the same directory.
+ */
+@Slf4j
+class TradeJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String JOURNAL_ID_FILE = "journal-id";
+    private static final String LOCK_FILE = "journal.lock";
+    private static final String DEAD_LETTER_FILE = "dead-letter.seg";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantLock deadLetterLock = new ReentrantLock();
+
+    private FileChannel lockChannel;
+    private FileChannel channel;
+    private Path segmentPath;
+    private volatile MappedByteBuffer buffer;
+    private long lastSequence;
+    private volatile long writtenSequence;
+    private volatile long durableSequence;
+
+    TradeJournal(Path directory, int segmentSize, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+    }
+
+    static String positionKey(String userId, String assetSymbol) {
+        return userId + '\u0000' + assetSymbol;
+    }
+
+    /**
+     * Open the journal for appending and return every intact record after the given sequence
+     */
+    synchronized List<JournalRecord> open(long afterSequence) throws IOException {
+        Files.createDirectories(directory);
+        lockDirectory();
+        List<JournalRecord> replay = new ArrayList<>();
+        List<Path> segments = listSegments();
+
+        Path tail = null;
+        int tailPosition = 0;
+        for (Path segment : segments) {
+            try (FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                tailPosition = scan(readBuffer, record -> {
+                    lastSequence = Math.max(lastSequence, record.sequence());
+                    if (record.sequence() > afterSequence) {
+                        replay.add(record);
+                    }
+                });
+                tail = segment;
+            }
+        }
+
+        lastSequence = Math.max(lastSequence, afterSequence);
+        writtenSequence = lastSequence;
+        durableSequence = lastSequence;
+
+        if (tail == null) {
+            openSegment(segmentPath(lastSequence + 1), 0);
+        } else {
+            openSegment(tail, tailPosition);
+        }
+        log.info("Trade journal opened at {} (last sequence {}, {} records to replay)",
+                directory, lastSequence, replay.size());
+        return replay;
+    }
+
+    /**
+     * Copy a record into the journal; it becomes durable once awaitDurable returns for its sequence
+     */
+    synchronized long append(byte[] payload) throws IOException {
+        int needed = HEADER_BYTES + payload.length + TRAILER_BYTES;
+        if (needed + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes exceeds segment size");
+        }
+        if (buffer.remaining() < needed + Integer.BYTES) {
+            roll();
+        }
+
+        long sequence = ++lastSequence;
+        MappedByteBuffer target = buffer;
+        target.putInt(payload.length);
+        target.putLong(sequence);
+        target.put(payload);
+        target.putInt(checksum(sequence, payload));
+        writtenSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Block until the record with the given sequence is on stable storage
+     * Returns the number of records made durable by this call (0 if another caller already did it)
+     */
+    long awaitDurable(long sequence) {
+        if (durableSequence >= sequence) {
+            return 0;
+        }
+        flushLock.lock();
+        try {
+            if (durableSequence >= sequence) {
+                return 0;
+            }
+            long target = writtenSequence;
+            if (fsync) {
+                buffer.force();
+            }
+            long committed = target - durableSequence;
+            durableSequence = target;
+            return committed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Id of this journal directory, or null when it has none yet
+     */
+    String readJournalId() throws IOException {
+        Path id = directory.resolve(JOURNAL_ID_FILE);
+        if (!Files.exists(id)) {
+            return null;
+        }
+        return Files.readString(id, StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Give this journal directory a new random id and persist it before returning
+     */
+    String createJournalId() throws IOException {
+        String journalId = UUID.randomUUID().toString();
+        Path temp = directory.resolve(JOURNAL_ID_FILE + ".tmp");
+        Files.writeString(temp, journalId, StandardCharsets.UTF_8);
+        try (FileChannel idChannel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            idChannel.force(true);
+        }
+        Files.move(temp, directory.resolve(JOURNAL_ID_FILE), StandardCopyOption.ATOMIC_MOVE);
+        return journalId;
+    }
+
+    /**
+     * Whether a checkpoint was ever written in this directory
+     */
+    boolean hasCheckpoint() {
+        return Files.exists(directory.resolve(CHECKPOINT_FILE));
+    }
+
+    /**
+     * Sequence of the last record applied to the database (0 when nothing was applied yet)
+     */
+    long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0L;
+        }
+        return Long.parseLong(Files.readString(checkpoint, StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * Persist the applied watermark and delete segments that only hold applied records
+     */
+    void markApplied(long sequence) throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, Long.toString(sequence), StandardCharsets.UTF_8);
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        List<Path> segments = listSegments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            Path segment = segments.get(i);
+            long nextStart = startSequence(segments.get(i + 1));
+            if (nextStart - 1 <= sequence && !segment.equals(currentSegment())) {
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException ex) {
+                    // Still mapped on some platforms; retried on the next checkpoint
+                    log.debug("Could not delete journal segment {}: {}", segment, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Append a record that could not be applied to the dead-letter segment, on stable storage before returning
+     * Same record layout as the journal segments, so quarantined trades can be inspected and replayed
+     */
+    void deadLetter(JournalRecord record) throws IOException {
+        byte[] payload = record.payload();
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + payload.length + TRAILER_BYTES);
+        out.putInt(payload.length);
+        out.putLong(record.sequence());
+        out.put(payload);
+        out.putInt(checksum(record.sequence(), payload));
+        out.flip();
+        deadLetterLock.lock();
+        try (FileChannel deadLetters = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (out.hasRemaining()) {
+                deadLetters.write(out);
+            }
+            deadLetters.force(false);
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+
+    /**
+     * Number of records in the dead-letter segment
+     */
+    int countDeadLetters() throws IOException {
+        Path path = directory.resolve(DEAD_LETTER_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        deadLetterLock.lock();
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int[] count = new int[1];
+            scan(readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size()), record -> count[0]++);
+            return count[0];
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer != null && fsync) {
+            buffer.force();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        if (lockChannel != null) {
+            // Closing the channel releases the directory lock
+            lockChannel.close();
+        }
+    }
+
+    private synchronized Path currentSegment() {
+        return segmentPath;
+    }
+
+    private void lockDirectory() throws IOException {
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Trade journal " + directory + " is already open in another process;"
+                    + " every wallet instance needs its own journal directory");
+        }
+    }
+
+    private void roll() throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(segmentPath(lastSequence + 1), 0);
+        log.debug("Trade journal rolled to {}", segmentPath);
+    }
+
+    private void openSegment(Path path, int position) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), segmentSize);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.position(position);
+        segmentPath = path;
+        buffer = mapped;
+    }
+
+    private static int scan(MappedByteBuffer source, RecordConsumer consumer) {
+        while (source.remaining() >= HEADER_BYTES + TRAILER_BYTES) {
+            int start = source.position();
+            int length = source.getInt();
+            if (length <= 0 || length > source.remaining() - Long.BYTES - TRAILER_BYTES) {
+                source.position(start);
+                break;
+            }
+            long sequence = source.getLong();
+            byte[] payload = new byte[length];
+            source.get(payload);
+            if (source.getInt() != checksum(sequence, payload)) {
+                source.position(start);
+                break;
+            }
+            consumer.accept(new JournalRecord(sequence, payload));
+        }
+        return source.position();
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32 crc = new CRC32();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(TradeJournal::startSequence))
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long startSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, startSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long startSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(JournalRecord record);
+    }
+}
@@ -0,0 +1,144 @@
+package com.investtrack.wallet.metrics;
+
+import com.investtrack.wallet.entity.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Trade Pipeline Metrics - Latency of each stage of a trade, tagged by trade type and outcome
+ *
+ * Stage times are collected per trade and only recorded once the outcome is known, so a slow
+ * wallet save can be told apart for successful and failed trades. A trade that writes in a
+ * transaction is finished after it completes, so success means committed. Every timer is registered up
+ * front and picked by array index, so the trade path never builds tags or looks meters up.
+ * Histograms and percentiles are configured with management.metrics.distribution.*.wallet.trade.pipeline.
+ */
+@Component
+public class TradePipelineMetrics {
+
+    public enum Stage {
+        MARKET_LOOKUP("market_lookup"),
+        WALLET_FIND("wallet_find"),
+        WALLET_SAVE("wallet_save"),
+        TRANSACTION_SAVE("transaction_save"),
+        COMMIT("commit");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS("success"),
+        INSUFFICIENT_BALANCE("insufficient_balance"),
+        FALLBACK("fallback"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+    private static final Stage[] STAGES = Stage.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Timer[][] totals = new Timer[TYPES.length][OUTCOMES.length];
+    private final Timer[][][] stages = new Timer[TYPES.length][OUTCOMES.length][STAGES.length];
+    private final Counter[] circuitOpen = new Counter[TYPES.length];
+
+    public TradePipelineMetrics(MeterRegistry meterRegistry) {
+        for (Transaction.TransactionType type : TYPES) {
+            for (Outcome outcome : OUTCOMES) {
+                totals[type.ordinal()][outcome.ordinal()] = Timer.builder("wallet.trade.pipeline")
+                        .description("Time to execute a trade, from price lookup to recorded transaction")
+                        .tag("type", type.name())
+                        .tag("outcome", outcome.tag)
+                        .register(meterRegistry);
+                for (Stage stage : STAGES) {
+                    stages[type.ordinal()][outcome.ordinal()][stage.ordinal()] = Timer.builder("wallet.trade.pipeline.stage")
+                            .description("Time spent in one stage of trade execution")
+                            .tag("stage", stage.tag)
+                            .tag("type", type.name())
+                            .tag("outcome", outcome.tag)
+                            .register(meterRegistry);
+                }
+            }
+            circuitOpen[type.ordinal()] = Counter.builder("wallet.trade.pipeline.circuit.open")
+                    .description("Trades rejected by the open Market Service circuit without running")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Count a trade the open circuit rejected; it never ran, so it is not timed
+     */
+    public void circuitOpen(Transaction.TransactionType type) {
+        circuitOpen[type.ordinal()].increment();
+    }
+
+    /**
+     * Start timing one trade; the caller owns the returned timing and must finish it exactly once
+     */
+    public TradeTiming start(Transaction.TransactionType type) {
+        return new TradeTiming(type);
+    }
+
+    /**
+     * Stage times of one trade, used by one thread at a time (request thread, then the trade stripe)
+     */
+    public final class TradeTiming {
+
+        private final Transaction.TransactionType type;
+        private final long startNanos = System.nanoTime();
+        private final long[] stageNanos = new long[STAGES.length];
+
+        private TradeTiming(Transaction.TransactionType type) {
+            this.type = type;
+            Arrays.fill(stageNanos, -1);
+        }
+
+        /**
+         * Run one stage and add its duration; stages that are never reached are not recorded
+         */
+        public <T> T time(Stage stage, Supplier<T> step) {
+            long start = System.nanoTime();
+            try {
+                return step.get();
+            } finally {
+                add(stage, System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Add a duration measured elsewhere, e.g. a commit timed by transaction callbacks
+         */
+        public void add(Stage stage, long elapsedNanos) {
+            int index = stage.ordinal();
+            stageNanos[index] = stageNanos[index] < 0 ? elapsedNanos : stageNanos[index] + elapsedNanos;
+        }
+
+        public void finish(Outcome outcome) {
+            long total = System.nanoTime() - startNanos;
+            int typeIndex = type.ordinal();
+            Timer[] stageTimers = stages[typeIndex][outcome.ordinal()];
+            for (int i = 0; i < stageNanos.length; i++) {
+                if (stageNanos[i] >= 0) {
+                    stageTimers[i].record(stageNanos[i], TimeUnit.NANOSECONDS);
+                }
+            }
+            totals[typeIndex][outcome.ordinal()].record(total, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.investtrack.wallet.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Fixed Point - Trade and valuation arithmetic on scaled longs
+ *
+ * Quantities are longs scaled to 8 decimals (the Wallet.quantity column) and prices/money
+ * longs scaled to 2 decimals. Callers convert once at the boundary with {@link #toUnscaled}
+ * and {@link #toDecimal} and keep longs in between; the arithmetic itself never creates a
+ * BigDecimal. Every operation rounds once, HALF_UP, where the former BigDecimal code did, so
+ * on-scale inputs give identical results. Intermediate products that overflow a long are
+ * finished with BigInteger; a result that does not fit a long throws ArithmeticException.
+ */
+public final class FixedPoint {
+
+    public static final int QUANTITY_SCALE = 8;
+    public static final int PRICE_SCALE = 2;
+
+    private static final long QUANTITY_ONE = 100_000_000L;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Unscaled long of a value at the given scale, rounded HALF_UP when it has more decimals
+     * (as the database column would store it)
+     *
+     * @throws ArithmeticException if the value does not fit in a long at that scale
+     */
+    public static long toUnscaled(BigDecimal value, int scale) {
+        if (value.scale() != scale) {
+            value = value.setScale(scale, RoundingMode.HALF_UP);
+        }
+        // Same digits at scale 0: longValueExact then reads the compact value without going through BigInteger
+        return value.scaleByPowerOfTen(scale).longValueExact();
+    }
+
+    /**
+     * Decimal of an unscaled long at the given scale
+     */
+    public static BigDecimal toDecimal(long unscaled, int scale) {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Average buy price after buying boughtQuantity at price on top of a held position:
+     * (heldQuantity * averagePrice + boughtQuantity * price) / (heldQuantity + boughtQuantity),
+     * quantities at quantity scale, prices at price scale, result at price scale rounded HALF_UP
+     *
+     * @throws ArithmeticException if the resulting quantity is not positive or the result overflows
+     */
+    public static long averageBuyPrice(long heldQuantity, long averagePrice, long boughtQuantity, long price) {
+        long totalQuantity = Math.addExact(heldQuantity, boughtQuantity);
+        if (totalQuantity <= 0) {
+            throw new ArithmeticException("Average price of a non-positive quantity");
+        }
+        // Numerator has scale 8 + 2, denominator scale 8: their quotient is already at price scale
+        try {
+            long totalValue = Math.addExact(Math.multiplyExact(heldQuantity, averagePrice),
+                    Math.multiplyExact(boughtQuantity, price));
+            return divideHalfUp(totalValue, totalQuantity);
+        } catch (ArithmeticException overflow) {
+            BigInteger totalValue = BigInteger.valueOf(heldQuantity).multiply(BigInteger.valueOf(averagePrice))
+                    .add(BigInteger.valueOf(boughtQuantity).multiply(BigInteger.valueOf(price)));
+            return divideHalfUp(totalValue, BigInteger.valueOf(totalQuantity));
+        }
+    }
+
+    /**
+     * Money value of quantity at price: quantity * price at price scale, rounded HALF_UP
+     *
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long value(long quantity, long price) {
+        // Product has scale 8 + 2; drop 8 digits to get back to money scale
+        try {
+            return divideHalfUp(Math.multiplyExact(quantity, price), QUANTITY_ONE);
+        } catch (ArithmeticException overflow) {
+            return divideHalfUp(BigInteger.valueOf(quantity).multiply(BigInteger.valueOf(price)),
+                    BigInteger.valueOf(QUANTITY_ONE));
+        }
+    }
+
+    /**
+     * Quotient rounded HALF_UP (ties away from zero), for a positive divisor
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            return dividend < 0 ? quotient - 1 : quotient + 1;
+        }
+        return quotient;
+    }
+
+    private static long divideHalfUp(BigInteger dividend, BigInteger divisor) {
+        BigInteger[] quotientAndRemainder = dividend.divideAndRemainder(divisor);
+        BigInteger quotient = quotientAndRemainder[0];
+        if (quotientAndRemainder[1].abs().shiftLeft(1).compareTo(divisor) >= 0) {
+            quotient = dividend.signum() < 0 ? quotient.subtract(BigInteger.ONE) : quotient.add(BigInteger.ONE);
+        }
+        return quotient.longValueExact();
+    }
+}
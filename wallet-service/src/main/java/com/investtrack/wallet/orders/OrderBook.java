@@ -0,0 +1,122 @@
+package com.investtrack.wallet.orders;
+
+import com.investtrack.wallet.entity.RestingOrder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Order Book - Resting orders of one symbol, sorted by trigger price
+ *
+ * Orders that trigger on a falling price and orders that trigger on a rising price are kept
+ * in two trees, so a price change takes exactly the crossed orders: a tail (falling) and a
+ * head (rising) of the trees, in O(log n + k). Orders at the same trigger keep arrival order.
+ *
+ * The book remembers the newest Market Service price version it acted on. Pushes can arrive out
+ * of order, and one older than that version is ignored, so a stale price never fills an order.
+ */
+final class OrderBook {
+
+    private final TreeMap<BigDecimal, Map<Long, RestingOrder>> triggerOnFall = new TreeMap<>();
+    private final TreeMap<BigDecimal, Map<Long, RestingOrder>> triggerOnRise = new TreeMap<>();
+    private int size;
+    private long priceVersion;
+
+    OrderBook() {
+    }
+
+    /**
+     * Book that has already seen prices up to the given version
+     */
+    OrderBook(long priceVersion) {
+        this.priceVersion = priceVersion;
+    }
+
+    synchronized void add(RestingOrder order) {
+        sideOf(order).computeIfAbsent(order.getTriggerPrice(), price -> new LinkedHashMap<>()).put(order.getId(), order);
+        size++;
+    }
+
+    /**
+     * Remove an order still resting in the book; false when it was already taken by a price change
+     */
+    synchronized boolean remove(RestingOrder order) {
+        TreeMap<BigDecimal, Map<Long, RestingOrder>> side = sideOf(order);
+        Map<Long, RestingOrder> level = side.get(order.getTriggerPrice());
+        if (level == null || level.remove(order.getId()) == null) {
+            return false;
+        }
+        if (level.isEmpty()) {
+            side.remove(order.getTriggerPrice());
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Remove and return every order the price reaches, most favourable triggers first
+     * Nothing is taken when the price is older than one this book already acted on
+     */
+    synchronized List<RestingOrder> takeTriggered(BigDecimal price, long version) {
+        if (!advanceTo(version)) {
+            return List.of();
+        }
+        List<RestingOrder> triggered = new ArrayList<>();
+        take(triggerOnFall.tailMap(price, true).descendingMap(), triggered);
+        take(triggerOnRise.headMap(price, true), triggered);
+        size -= triggered.size();
+        return triggered;
+    }
+
+    /**
+     * Remove and return every order, e.g. when the asset was removed (nothing for a stale version)
+     */
+    synchronized List<RestingOrder> takeAll(long version) {
+        if (!advanceTo(version)) {
+            return List.of();
+        }
+        List<RestingOrder> all = new ArrayList<>(size);
+        take(triggerOnFall, all);
+        take(triggerOnRise, all);
+        size = 0;
+        return all;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Newest price version this book has seen
+     */
+    synchronized long priceVersion() {
+        return priceVersion;
+    }
+
+    /**
+     * Record a price version; false when it is older than one already seen
+     */
+    synchronized boolean advanceTo(long version) {
+        if (version < priceVersion) {
+            return false;
+        }
+        priceVersion = version;
+        return true;
+    }
+
+    private TreeMap<BigDecimal, Map<Long, RestingOrder>> sideOf(RestingOrder order) {
+        return order.triggersOnFall() ? triggerOnFall : triggerOnRise;
+    }
+
+    private static void take(NavigableMap<BigDecimal, Map<Long, RestingOrder>> levels, List<RestingOrder> into) {
+        for (Map<Long, RestingOrder> level : levels.values()) {
+            into.addAll(level.values());
+        }
+        levels.clear();
+    }
+}
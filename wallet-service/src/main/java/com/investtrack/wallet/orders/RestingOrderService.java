@@ -0,0 +1,327 @@
+package com.investtrack.wallet.orders;
+
+import com.investtrack.wallet.cache.AssetPriceCache;
+import com.investtrack.wallet.client.MarketLookupCoalescer;
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.AssetDTO;
+import com.investtrack.wallet.dto.PriceChangeDTO;
+import com.investtrack.wallet.dto.RestingOrderDTO;
+import com.investtrack.wallet.dto.RestingOrderRequestDTO;
+import com.investtrack.wallet.dto.TradeRequestDTO;
+import com.investtrack.wallet.dto.TradeResponseDTO;
+import com.investtrack.wallet.entity.RestingOrder;
+import com.investtrack.wallet.exception.InsufficientBalanceException;
+import com.investtrack.wallet.exception.InvalidOrderException;
+import com.investtrack.wallet.exception.MarketServiceUnavailableException;
+import com.investtrack.wallet.exception.OrderNotFoundException;
+import com.investtrack.wallet.exception.TradeRejectedException;
+import com.investtrack.wallet.exception.TradeTimeoutException;
+import com.investtrack.wallet.executor.ShardedTradeExecutor;
+import com.investtrack.wallet.repository.RestingOrderRepository;
+import com.investtrack.wallet.service.WalletService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resting Order Service - Limit and stop orders filled by Market Service price pushes
+ *
+ * Open orders are stored in the resting_orders table and mirrored in one in-memory
+ * OrderBook per symbol, rebuilt from the table on startup and every sync interval so orders
+ * placed on other wallet instances are picked up. Each price push takes only the orders it
+ * crosses and fills them on the owner's trade stripe through the regular BUY/SELL logic, at
+ * the pushed price. Every instance receives the pushes, so an order is claimed with a
+ * conditional status update before it is filled; the instance that loses the claim skips it.
+ * Without the journal, the claim, the trade and the fill details commit in one transaction.
+ * With the journal the trade is durable before anything commits, so the claim (FILLING) is
+ * committed first: a failure after the trade leaves the order FILLING rather than open.
+ * An order that already crosses the current price when placed is filled right away.
+ * SELL orders do not reserve quantity: a sell that finds too little left is rejected.
+ */
+@Service
+@Slf4j
+public class RestingOrderService {
+
+    private final RestingOrderRepository orderRepository;
+    private final WalletService walletService;
+    private final ShardedTradeExecutor tradeExecutor;
+    private final AssetPriceCache assetPriceCache;
+    private final MarketLookupCoalescer marketLookupCoalescer;
+    private final WalletConfig walletConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+
+    private final Counter triggered;
+    private final Counter filled;
+    private final Counter rejected;
+    private final Counter retried;
+    private final Counter skipped;
+    private final Counter unresolved;
+
+    public RestingOrderService(RestingOrderRepository orderRepository,
+                               WalletService walletService,
+                               ShardedTradeExecutor tradeExecutor,
+                               AssetPriceCache assetPriceCache,
+                               MarketLookupCoalescer marketLookupCoalescer,
+                               WalletConfig walletConfig,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.walletService = walletService;
+        this.tradeExecutor = tradeExecutor;
+        this.assetPriceCache = assetPriceCache;
+        this.marketLookupCoalescer = marketLookupCoalescer;
+        this.walletConfig = walletConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.triggered = meterRegistry.counter("wallet.orders.triggered");
+        this.filled = meterRegistry.counter("wallet.orders.fills", "outcome", "filled");
+        this.rejected = meterRegistry.counter("wallet.orders.fills", "outcome", "rejected");
+        this.retried = meterRegistry.counter("wallet.orders.fills", "outcome", "retried");
+        this.skipped = meterRegistry.counter("wallet.orders.fills", "outcome", "skipped");
+        this.unresolved = meterRegistry.counter("wallet.orders.fills", "outcome", "unresolved");
+        Gauge.builder("wallet.orders.open", books, b -> b.values().stream().mapToInt(OrderBook::size).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the books from the open orders before price pushes are accepted
+     */
+    @PostConstruct
+    public void loadOpenOrders() {
+        log.info("Loaded {} open resting orders", syncOpenOrders());
+    }
+
+    /**
+     * Replace the books with the open orders in the table, including those placed on other instances
+     * An order being filled may be put back for a moment; its claim makes a second fill a no-op.
+     */
+    @Scheduled(fixedDelayString = "${invest-config.wallet.orders.sync-interval-ms:5000}",
+            initialDelayString = "${invest-config.wallet.orders.sync-interval-ms:5000}")
+    public int syncOpenOrders() {
+        List<RestingOrder> open = orderRepository.findByStatus(RestingOrder.OrderStatus.OPEN);
+        Map<String, OrderBook> rebuilt = new HashMap<>();
+        // Rebuilt books keep the price version already seen, so a late stale push is still ignored
+        open.forEach(order -> rebuilt.computeIfAbsent(order.getAssetSymbol(), s -> {
+            OrderBook previous = books.get(s);
+            return new OrderBook(previous != null ? previous.priceVersion() : 0L);
+        }).add(order));
+        books.putAll(rebuilt);
+        books.keySet().retainAll(rebuilt.keySet());
+        return open.size();
+    }
+
+    /**
+     * Place a limit or stop order
+     */
+    public RestingOrderDTO placeOrder(RestingOrderRequestDTO request) {
+        String symbol = request.getAssetSymbol().toUpperCase();
+        if (orderRepository.countByUserIdAndStatus(request.getUserId(), RestingOrder.OrderStatus.OPEN)
+                >= walletConfig.getOrdersMaxOpenPerUser()) {
+            throw new InvalidOrderException("Too many open orders. At most "
+                    + walletConfig.getOrdersMaxOpenPerUser() + " are allowed.");
+        }
+
+        // A fresh quote, not one up to the cache TTL old: it decides whether the order fills right away
+        AssetDTO asset = assetPriceCache.load(symbol, marketLookupCoalescer::getAssetBySymbol);
+        if (asset == null) {
+            throw new MarketServiceUnavailableException("Market Service is currently unavailable. Please try again later.");
+        }
+
+        RestingOrder order = orderRepository.save(new RestingOrder(null, request.getUserId(), asset.getSymbol(),
+                request.getType(), request.getKind(), request.getQuantity(), request.getTriggerPrice(),
+                RestingOrder.OrderStatus.OPEN, LocalDateTime.now(), null, null, null, null));
+        log.info("Placed {} {} order {} for user {} - {} {} at {}", order.getKind(), order.getType(), order.getId(),
+                order.getUserId(), order.getQuantity(), order.getAssetSymbol(), order.getTriggerPrice());
+
+        BigDecimal currentPrice = asset.getCurrentPrice();
+        if (currentPrice != null && order.isTriggeredBy(currentPrice)) {
+            triggered.increment();
+            try {
+                return toDTO(tradeExecutor.execute(order.getUserId(), () -> fill(order, currentPrice)));
+            } catch (TradeRejectedException ex) {
+                // Stripe queue full: let the order rest until the next price change
+                retried.increment();
+            } catch (TradeTimeoutException ex) {
+                // Still queued or filling: the fill settles the order, or the next sync rebooks it if it stays open
+                retried.increment();
+                return toDTO(order);
+            }
+        }
+        OrderBook book = bookOf(order.getAssetSymbol());
+        book.advanceTo(asset.getPriceVersion());
+        book.add(order);
+        return toDTO(order);
+    }
+
+    /**
+     * Cancel an open order; an order that is no longer open is returned as it is
+     */
+    public RestingOrderDTO cancelOrder(Long orderId, String userId) {
+        RestingOrder order = orderRepository.findById(orderId)
+                .filter(found -> found.getUserId().equals(userId))
+                .orElseThrow(() -> new OrderNotFoundException("Order " + orderId + " not found"));
+
+        // The book may not hold it (placed on another instance); the claim decides
+        bookOf(order.getAssetSymbol()).remove(order);
+        if (transition(order, RestingOrder.OrderStatus.OPEN, RestingOrder.OrderStatus.CANCELLED, "Cancelled by user")) {
+            log.info("Cancelled order {} for user {}", orderId, userId);
+        }
+        // Otherwise already closed, or claimed by a fill right now
+        return toDTO(reload(order));
+    }
+
+    /**
+     * A user's orders, newest first, optionally in one status
+     */
+    public List<RestingOrderDTO> getUserOrders(String userId, RestingOrder.OrderStatus status) {
+        List<RestingOrder> orders = status != null
+                ? orderRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status)
+                : orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return orders.stream().map(RestingOrderService::toDTO).toList();
+    }
+
+    /**
+     * Fill the orders crossed by a price change; orders of a removed asset are cancelled
+     */
+    @EventListener
+    public void onPriceChange(PriceChangeDTO change) {
+        OrderBook book = books.get(change.getSymbol());
+        if (book == null) {
+            return;
+        }
+        if (change.getCurrentPrice() == null) {
+            for (RestingOrder order : book.takeAll(change.getVersion())) {
+                transition(order, RestingOrder.OrderStatus.OPEN, RestingOrder.OrderStatus.CANCELLED, "Asset removed");
+            }
+            return;
+        }
+
+        // Pushes can arrive out of order: one older than the book's version takes nothing
+        List<RestingOrder> crossed = book.takeTriggered(change.getCurrentPrice(), change.getVersion());
+        if (crossed.isEmpty()) {
+            return;
+        }
+        triggered.increment(crossed.size());
+        log.info("Price {} for {} triggered {} resting orders", change.getCurrentPrice(), change.getSymbol(), crossed.size());
+        for (RestingOrder order : crossed) {
+            submitFill(order, change.getCurrentPrice());
+        }
+    }
+
+    private void submitFill(RestingOrder order, BigDecimal price) {
+        try {
+            tradeExecutor.submit(order.getUserId(), () -> fill(order, price));
+        } catch (TradeRejectedException ex) {
+            // Stripe queue full: keep the order resting for the next price change
+            retried.increment();
+            bookOf(order.getAssetSymbol()).add(order);
+        }
+    }
+
+    /**
+     * Claim the order, run the trade and record the fill (runs on the user's stripe)
+     */
+    private RestingOrder fill(RestingOrder order, BigDecimal price) {
+        TradeRequestDTO request = new TradeRequestDTO(order.getUserId(), order.getAssetSymbol(),
+                order.getQuantity(), order.getType());
+        boolean journaled = walletConfig.isJournalEnabled();
+        if (journaled && !transition(order, RestingOrder.OrderStatus.OPEN, RestingOrder.OrderStatus.FILLING, null)) {
+            return skip(order);
+        }
+        RestingOrder.OrderStatus claimedFrom = journaled ? RestingOrder.OrderStatus.FILLING : RestingOrder.OrderStatus.OPEN;
+        AtomicBoolean traded = new AtomicBoolean();
+        try {
+            Boolean claimed = transactionTemplate.execute(status -> {
+                if (orderRepository.transition(order.getId(), claimedFrom, RestingOrder.OrderStatus.FILLED,
+                        LocalDateTime.now(), null) == 0) {
+                    return false;
+                }
+                TradeResponseDTO response = walletService.executeAtPrice(request, price);
+                traded.set(true);
+                orderRepository.recordFill(order.getId(), price,
+                        response.getTransaction() != null ? response.getTransaction().getId() : null);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(claimed)) {
+                return skip(order);
+            }
+            filled.increment();
+            return reload(order);
+        } catch (InsufficientBalanceException ex) {
+            rejected.increment();
+            log.info("Order {} rejected: {}", order.getId(), ex.getMessage());
+            transition(order, claimedFrom, RestingOrder.OrderStatus.REJECTED, ex.getMessage());
+            return reload(order);
+        } catch (RuntimeException ex) {
+            if (journaled && traded.get()) {
+                // The trade is in the journal; reopening the order would fill it twice
+                unresolved.increment();
+                log.error("Order {} was traded but could not be marked filled, left FILLING: {}",
+                        order.getId(), ex.getMessage());
+                return reload(order);
+            }
+            retried.increment();
+            log.warn("Fill of order {} failed, keeping it open: {}", order.getId(), ex.getMessage());
+            if (journaled) {
+                transition(order, RestingOrder.OrderStatus.FILLING, RestingOrder.OrderStatus.OPEN, null);
+            }
+            bookOf(order.getAssetSymbol()).add(order);
+            return order;
+        }
+    }
+
+    private RestingOrder skip(RestingOrder order) {
+        skipped.increment();
+        log.debug("Order {} already claimed elsewhere", order.getId());
+        return reload(order);
+    }
+
+    /**
+     * Conditional status change; false when the order was no longer in the expected status
+     */
+    private boolean transition(RestingOrder order, RestingOrder.OrderStatus from, RestingOrder.OrderStatus to, String message) {
+        LocalDateTime closedAt = to == RestingOrder.OrderStatus.OPEN || to == RestingOrder.OrderStatus.FILLING
+                ? null : LocalDateTime.now();
+        return orderRepository.transition(order.getId(), from, to, closedAt, message) > 0;
+    }
+
+    private RestingOrder reload(RestingOrder order) {
+        return orderRepository.findById(order.getId()).orElse(order);
+    }
+
+    private OrderBook bookOf(String symbol) {
+        return books.computeIfAbsent(symbol, s -> new OrderBook());
+    }
+
+    private static RestingOrderDTO toDTO(RestingOrder order) {
+        return new RestingOrderDTO(
+                order.getId(),
+                order.getUserId(),
+                order.getAssetSymbol(),
+                order.getType(),
+                order.getKind(),
+                order.getQuantity(),
+                order.getTriggerPrice(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getClosedAt(),
+                order.getFillPrice(),
+                order.getTransactionId(),
+                order.getStatusMessage());
+    }
+}
@@ -0,0 +1,71 @@
+package com.investtrack.wallet.rebuild;
+
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.money.FixedPoint;
+
+import java.math.BigDecimal;
+
+/**
+ * Replayed Position - Position rebuilt by folding transactions with WalletService's rules
+ * A BUY moves the average price exactly as executeBuy does; a SELL only lowers the quantity.
+ * The position is folded on scaled longs (see FixedPoint) and converted back in the getters.
+ */
+public final class ReplayedPosition {
+
+    private final String userId;
+    private final String assetSymbol;
+    private long quantity;
+    private long averageBuyPrice;
+    private long lastTransactionId;
+
+    public ReplayedPosition(String userId, String assetSymbol) {
+        this(userId, assetSymbol, BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+    }
+
+    ReplayedPosition(String userId, String assetSymbol, BigDecimal quantity, BigDecimal averageBuyPrice,
+                     long lastTransactionId) {
+        this.userId = userId;
+        this.assetSymbol = assetSymbol;
+        this.quantity = FixedPoint.toUnscaled(quantity, FixedPoint.QUANTITY_SCALE);
+        this.averageBuyPrice = FixedPoint.toUnscaled(averageBuyPrice, FixedPoint.PRICE_SCALE);
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public void apply(TransactionReplayRow row) {
+        long rowQuantity = FixedPoint.toUnscaled(row.quantity(), FixedPoint.QUANTITY_SCALE);
+        if (row.type() == Transaction.TransactionType.BUY) {
+            averageBuyPrice = FixedPoint.averageBuyPrice(quantity, averageBuyPrice, rowQuantity,
+                    FixedPoint.toUnscaled(row.price(), FixedPoint.PRICE_SCALE));
+            quantity = Math.addExact(quantity, rowQuantity);
+        } else {
+            quantity = Math.subtractExact(quantity, rowQuantity);
+        }
+        if (row.id() != null) {
+            lastTransactionId = row.id();
+        }
+    }
+
+    public static String key(String userId, String assetSymbol) {
+        return userId + '\u0000' + assetSymbol;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getAssetSymbol() {
+        return assetSymbol;
+    }
+
+    public BigDecimal getQuantity() {
+        return FixedPoint.toDecimal(quantity, FixedPoint.QUANTITY_SCALE);
+    }
+
+    public BigDecimal getAverageBuyPrice() {
+        return FixedPoint.toDecimal(averageBuyPrice, FixedPoint.PRICE_SCALE);
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.investtrack.wallet.rebuild;
+
+import com.investtrack.wallet.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Transaction Replay Row - The columns of a transaction needed to replay a position
+ * id is null for a journaled trade not yet applied to the table; journalId and journalSequence are null for direct trades
+ */
+public record TransactionReplayRow(Long id, String userId, String assetSymbol,
+                                   Transaction.TransactionType type, BigDecimal quantity, BigDecimal price,
+                                   LocalDateTime timestamp, String journalId, Long journalSequence) {
+
+    /**
+     * Identity of the journal record this row came from, null for direct trades
+     */
+    public String journalKey() {
+        return journalSequence == null ? null : journalId + '#' + journalSequence;
+    }
+}
@@ -0,0 +1,340 @@
+package com.investtrack.wallet.rebuild;
+
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.RebuildReportDTO;
+import com.investtrack.wallet.dto.WalletDiscrepancyDTO;
+import com.investtrack.wallet.entity.WalletSnapshotRun;
+import com.investtrack.wallet.exception.RebuildInProgressException;
+import com.investtrack.wallet.repository.TransactionRepository;
+import com.investtrack.wallet.repository.WalletSnapshotRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wallet Rebuild Service - Replays the transactions table into wallet positions
+ *
+ * Transactions are streamed in id order and dispatched to user partitions, each owned
+ * by one worker thread, so a user's transactions are folded in order while different
+ * users replay in parallel. A replay starts from the latest snapshot (if any) and only
+ * reads transactions after it. Only transactions inserted before the configured lag are
+ * replayed, which keeps a trade still committing from slipping under a snapshot.
+ *
+ * The id bound is only safe because ids follow insert order: transactions_seq hands out one
+ * id per row (no pooled blocks, so several instances interleave correctly) and the lag is
+ * longer than any write transaction, so no row below the bound can still be uncommitted.
+ * The result is compared with the wallets table and, optionally, saved as a new snapshot.
+ */
+@Service
+@Slf4j
+public class WalletRebuildService {
+
+    private static final String INSERT_SNAPSHOT_POSITION =
+            "INSERT INTO wallet_snapshot_positions (run_id, user_id, asset_symbol, quantity, average_buy_price, last_transaction_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final TransactionRepository transactionRepository;
+    private final WalletSnapshotRunRepository snapshotRunRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletConfig walletConfig;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer rebuildDuration;
+    private final Counter transactionsReplayed;
+    private final AtomicInteger lastDiscrepancies = new AtomicInteger();
+
+    public WalletRebuildService(TransactionRepository transactionRepository,
+                                WalletSnapshotRunRepository snapshotRunRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                WalletConfig walletConfig,
+                                MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.snapshotRunRepository = snapshotRunRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.walletConfig = walletConfig;
+        this.rebuildDuration = meterRegistry.timer("wallet.rebuild.duration");
+        this.transactionsReplayed = meterRegistry.counter("wallet.rebuild.transactions");
+        meterRegistry.gauge("wallet.rebuild.discrepancies", lastDiscrepancies);
+    }
+
+    /**
+     * Replay wallets, compare them with the wallets table and optionally write a snapshot
+     */
+    public RebuildReportDTO rebuild(boolean fromSnapshot, boolean writeSnapshot) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RebuildInProgressException("A wallet rebuild is already running");
+        }
+        try {
+            return rebuildDuration.record(() -> doRebuild(fromSnapshot, writeSnapshot));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Periodic snapshot, so later rebuilds start close to the head of the transactions table
+     */
+    @Scheduled(cron = "${invest-config.wallet.rebuild.snapshot-cron:0 0 * * * *}")
+    public void writePeriodicSnapshot() {
+        try {
+            RebuildReportDTO report = rebuild(true, true);
+            log.info("Periodic wallet snapshot {}: {} transactions replayed, {} discrepancies",
+                    report.getSnapshotId(), report.getTransactionsReplayed(), report.getDiscrepancyCount());
+        } catch (RebuildInProgressException ex) {
+            log.info("Skipping periodic wallet snapshot: {}", ex.getMessage());
+        }
+    }
+
+    private RebuildReportDTO doRebuild(boolean fromSnapshot, boolean writeSnapshot) {
+        long started = System.nanoTime();
+        int partitionCount = walletConfig.getRebuildPartitions() > 0
+                ? walletConfig.getRebuildPartitions()
+                : Runtime.getRuntime().availableProcessors();
+
+        List<Map<String, ReplayedPosition>> partitions = new ArrayList<>(partitionCount);
+        ExecutorService[] workers = new ExecutorService[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new HashMap<>());
+            String threadName = "wallet-rebuild-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+        }
+
+        try {
+            // Starting point
+            Long startSnapshotId = null;
+            long afterId = 0L;
+            if (fromSnapshot) {
+                Optional<WalletSnapshotRun> latest = snapshotRunRepository.findTopByOrderByLastTransactionIdDescIdDesc();
+                if (latest.isPresent()) {
+                    startSnapshotId = latest.get().getId();
+                    afterId = latest.get().getLastTransactionId();
+                    loadSnapshot(startSnapshotId, partitions);
+                }
+            }
+            long startTransactionId = afterId;
+
+            // Upper bound: leave recently inserted (possibly still committing) transactions for the next run
+            Long bound = transactionRepository.findMaxIdBefore(
+                    LocalDateTime.now().minusSeconds(walletConfig.getRebuildLagSeconds()));
+            long upToId = bound == null ? afterId : Math.max(bound, afterId);
+
+            // Replay: one page in flight while the next is read
+            long replayed = 0;
+            List<Future<?>> inFlight = List.of();
+            while (true) {
+                List<TransactionReplayRow> page = transactionRepository.findReplayPage(
+                        afterId, upToId, PageRequest.of(0, walletConfig.getRebuildPageSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<List<TransactionReplayRow>> byPartition = new ArrayList<>(partitionCount);
+                for (int i = 0; i < partitionCount; i++) {
+                    byPartition.add(new ArrayList<>());
+                }
+                for (TransactionReplayRow row : page) {
+                    byPartition.get(partitionOf(row.userId(), partitionCount)).add(row);
+                }
+
+                awaitAll(inFlight);
+                List<Future<?>> submitted = new ArrayList<>(partitionCount);
+                for (int i = 0; i < partitionCount; i++) {
+                    List<TransactionReplayRow> rows = byPartition.get(i);
+                    if (!rows.isEmpty()) {
+                        Map<String, ReplayedPosition> positions = partitions.get(i);
+                        submitted.add(workers[i].submit(() -> apply(positions, rows)));
+                    }
+                }
+                inFlight = submitted;
+
+                replayed += page.size();
+                transactionsReplayed.increment(page.size());
+                afterId = page.get(page.size() - 1).id();
+            }
+            awaitAll(inFlight);
+
+            // Compare with the stored wallets
+            List<WalletDiscrepancyDTO> discrepancies = new ArrayList<>();
+            int[] counts = compare(partitions, upToId, discrepancies);
+            lastDiscrepancies.set(counts[1]);
+
+            int positions = partitions.stream().mapToInt(Map::size).sum();
+            Long snapshotId = writeSnapshot && (replayed > 0 || startSnapshotId == null)
+                    ? writeSnapshot(partitions, upToId, positions)
+                    : null;
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("Wallet rebuild replayed {} transactions ({} -> {}) into {} positions in {} ms, {} discrepancies",
+                    replayed, startTransactionId, upToId, positions, elapsedMillis, counts[1]);
+
+            return new RebuildReportDTO(startSnapshotId, startTransactionId, upToId, replayed, positions,
+                    partitionCount, counts[0], counts[1], discrepancies, snapshotId, elapsedMillis);
+        } finally {
+            for (ExecutorService worker : workers) {
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    private static void apply(Map<String, ReplayedPosition> positions, List<TransactionReplayRow> rows) {
+        for (TransactionReplayRow row : rows) {
+            positions.computeIfAbsent(ReplayedPosition.key(row.userId(), row.assetSymbol()),
+                    key -> new ReplayedPosition(row.userId(), row.assetSymbol())).apply(row);
+        }
+    }
+
+    private void loadSnapshot(Long runId, List<Map<String, ReplayedPosition>> partitions) {
+        jdbcTemplate.query(
+                "SELECT user_id, asset_symbol, quantity, average_buy_price, last_transaction_id " +
+                "FROM wallet_snapshot_positions WHERE run_id = ?",
+                rs -> {
+                    ReplayedPosition position = new ReplayedPosition(
+                            rs.getString(1), rs.getString(2), rs.getBigDecimal(3), rs.getBigDecimal(4), rs.getLong(5));
+                    partitions.get(partitionOf(position.getUserId(), partitions.size()))
+                            .put(ReplayedPosition.key(position.getUserId(), position.getAssetSymbol()), position);
+                },
+                runId);
+    }
+
+    /**
+     * Compare replayed positions with the wallets table; returns {skipped, discrepancies}
+     */
+    private int[] compare(List<Map<String, ReplayedPosition>> partitions, long upToId,
+                          List<WalletDiscrepancyDTO> reported) {
+        List<StoredWallet> stored = new ArrayList<>();
+        jdbcTemplate.query("SELECT user_id, asset_symbol, quantity, average_buy_price FROM wallets",
+                rs -> {
+                    stored.add(new StoredWallet(rs.getString(1), rs.getString(2), rs.getBigDecimal(3), rs.getBigDecimal(4)));
+                });
+
+        // Read after the wallets so that any wallet changed past the bound is known to be changed
+        Set<String> changed = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT DISTINCT w.user_id, t.asset_symbol FROM transactions t JOIN wallets w ON t.wallet_id = w.id WHERE t.id > ?",
+                rs -> {
+                    changed.add(ReplayedPosition.key(rs.getString(1), rs.getString(2)));
+                },
+                upToId);
+
+        int max = walletConfig.getRebuildMaxReportedDiscrepancies();
+        int skipped = 0;
+        int found = 0;
+        Set<String> seen = new HashSet<>();
+
+        for (StoredWallet wallet : stored) {
+            String key = ReplayedPosition.key(wallet.userId(), wallet.assetSymbol());
+            seen.add(key);
+            if (changed.contains(key)) {
+                skipped++;
+                continue;
+            }
+            ReplayedPosition replayed = partitions.get(partitionOf(wallet.userId(), partitions.size())).get(key);
+            WalletDiscrepancyDTO.Kind kind = null;
+            if (replayed == null) {
+                kind = WalletDiscrepancyDTO.Kind.UNEXPECTED_WALLET;
+            } else if (wallet.quantity().compareTo(replayed.getQuantity()) != 0) {
+                kind = WalletDiscrepancyDTO.Kind.QUANTITY_MISMATCH;
+            } else if (wallet.averageBuyPrice().compareTo(replayed.getAverageBuyPrice()) != 0) {
+                kind = WalletDiscrepancyDTO.Kind.AVERAGE_PRICE_MISMATCH;
+            }
+            if (kind != null) {
+                if (found++ < max) {
+                    reported.add(new WalletDiscrepancyDTO(wallet.userId(), wallet.assetSymbol(), kind,
+                            wallet.quantity(), replayed != null ? replayed.getQuantity() : null,
+                            wallet.averageBuyPrice(), replayed != null ? replayed.getAverageBuyPrice() : null));
+                }
+            }
+        }
+
+        for (Map<String, ReplayedPosition> partition : partitions) {
+            for (Map.Entry<String, ReplayedPosition> entry : partition.entrySet()) {
+                if (!seen.contains(entry.getKey()) && !changed.contains(entry.getKey())) {
+                    ReplayedPosition replayed = entry.getValue();
+                    if (found++ < max) {
+                        reported.add(new WalletDiscrepancyDTO(replayed.getUserId(), replayed.getAssetSymbol(),
+                                WalletDiscrepancyDTO.Kind.MISSING_WALLET, null, replayed.getQuantity(),
+                                null, replayed.getAverageBuyPrice()));
+                    }
+                }
+            }
+        }
+        return new int[]{skipped, found};
+    }
+
+    private Long writeSnapshot(List<Map<String, ReplayedPosition>> partitions, long upToId, int positions) {
+        Long runId = transactionTemplate.execute(status -> {
+            WalletSnapshotRun run = snapshotRunRepository.save(
+                    new WalletSnapshotRun(null, upToId, positions, LocalDateTime.now()));
+            for (Map<String, ReplayedPosition> partition : partitions) {
+                jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_POSITION, partition.values(), walletConfig.getRebuildPageSize(),
+                        (ps, position) -> {
+                            ps.setLong(1, run.getId());
+                            ps.setString(2, position.getUserId());
+                            ps.setString(3, position.getAssetSymbol());
+                            ps.setBigDecimal(4, position.getQuantity());
+                            ps.setBigDecimal(5, position.getAverageBuyPrice());
+                            ps.setLong(6, position.getLastTransactionId());
+                        });
+            }
+            return run.getId();
+        });
+        pruneSnapshots();
+        return runId;
+    }
+
+    private void pruneSnapshots() {
+        List<WalletSnapshotRun> runs = snapshotRunRepository.findAllByOrderByLastTransactionIdDescIdDesc();
+        for (WalletSnapshotRun old : runs.subList(Math.min(walletConfig.getRebuildSnapshotsRetained(), runs.size()), runs.size())) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM wallet_snapshot_positions WHERE run_id = ?", old.getId());
+                snapshotRunRepository.deleteById(old.getId());
+            });
+        }
+    }
+
+    private static int partitionOf(String userId, int partitionCount) {
+        return Math.floorMod(userId.hashCode(), partitionCount);
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Wallet rebuild interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Wallet rebuild failed", ex.getCause());
+        }
+    }
+
+    private record StoredWallet(String userId, String assetSymbol, BigDecimal quantity, BigDecimal averageBuyPrice) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.investtrack.wallet.repository;
+
+import com.investtrack.wallet.entity.RestingOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resting Order Repository - Data access for limit and stop orders
+ */
+@Repository
+public interface RestingOrderRepository extends JpaRepository<RestingOrder, Long> {
+
+    /**
+     * Orders in a given status, e.g. all open orders to rebuild the books on startup
+     */
+    List<RestingOrder> findByStatus(RestingOrder.OrderStatus status);
+
+    /**
+     * A user's orders, newest first
+     */
+    List<RestingOrder> findByUserIdOrderByCreatedAtDesc(String userId);
+
+    /**
+     * A user's orders in a given status, newest first
+     */
+    List<RestingOrder> findByUserIdAndStatusOrderByCreatedAtDesc(String userId, RestingOrder.OrderStatus status);
+
+    /**
+     * Number of a user's orders in a given status
+     */
+    long countByUserIdAndStatus(String userId, RestingOrder.OrderStatus status);
+
+    /**
+     * Move an order to a new status only if it is still in the expected one
+     * The conditional update is the claim between wallet instances: 0 means someone else got there first
+     */
+    @Modifying
+    @Transactional
+    @Query("update RestingOrder o set o.status = :to, o.closedAt = :closedAt, o.statusMessage = :message " +
+            "where o.id = :id and o.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") RestingOrder.OrderStatus from,
+                   @Param("to") RestingOrder.OrderStatus to,
+                   @Param("closedAt") LocalDateTime closedAt,
+                   @Param("message") String message);
+
+    /**
+     * Record the price and transaction of a fill
+     */
+    @Modifying
+    @Transactional
+    @Query("update RestingOrder o set o.fillPrice = :fillPrice, o.transactionId = :transactionId where o.id = :id")
+    int recordFill(@Param("id") Long id,
+                   @Param("fillPrice") BigDecimal fillPrice,
+                   @Param("transactionId") Long transactionId);
+}
@@ -1,13 +1,18 @@
 package com.investtrack.wallet.repository;
 
+import com.investtrack.wallet.dto.TransactionDTO;
 import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.rebuild.TransactionReplayRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Transaction Repository - Data access layer for Transaction entity
@@ -32,9 +37,74 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     /**
      * Find all transactions for a user (across all wallets) after a date
      */
-    @Query("SELECT t FROM Transaction t WHERE t.wallet.userId = :userId AND t.timestamp > :after ORDER BY t.timestamp DESC")
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.timestamp > :after ORDER BY t.timestamp DESC")
     List<Transaction> findByUserIdAndTimestampAfter(
         @Param("userId") String userId, 
         @Param("after") LocalDateTime after
     );
+
+    /**
+     * Transaction history for a user projected straight into DTOs
+     * Filters on the denormalized userId, so a page is one range scan of (user_id, timestamp, id);
+     * reads only the DTO columns and never joins or initializes the wallet
+     */
+    @Query("SELECT new com.investtrack.wallet.dto.TransactionDTO(t.id, t.wallet.id, t.type, t.assetSymbol, t.quantity, t.price, t.timestamp) " +
+           "FROM Transaction t " +
+           "WHERE t.userId = :userId AND t.timestamp > :after " +
+           "ORDER BY t.timestamp DESC, t.id DESC")
+    List<TransactionDTO> findHistory(
+        @Param("userId") String userId,
+        @Param("after") LocalDateTime after,
+        Pageable pageable
+    );
+
+    /**
+     * Next keyset page of a user's transaction history, strictly after (cursorTimestamp, cursorId)
+     */
+    @Query("SELECT new com.investtrack.wallet.dto.TransactionDTO(t.id, t.wallet.id, t.type, t.assetSymbol, t.quantity, t.price, t.timestamp) " +
+           "FROM Transaction t " +
+           "WHERE t.userId = :userId AND t.timestamp > :after " +
+           "AND (t.timestamp < :cursorTimestamp OR (t.timestamp = :cursorTimestamp AND t.id < :cursorId)) " +
+           "ORDER BY t.timestamp DESC, t.id DESC")
+    List<TransactionDTO> findHistoryAfter(
+        @Param("userId") String userId,
+        @Param("after") LocalDateTime after,
+        @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    /**
+     * Sequences among the given ones that were already applied from the given journal
+     */
+    @Query("SELECT t.journalSequence FROM Transaction t WHERE t.journalId = :journalId AND t.journalSequence IN :sequences")
+    Set<Long> findExistingJournalSequences(
+        @Param("journalId") String journalId,
+        @Param("sequences") Collection<Long> sequences
+    );
+
+    /**
+     * Whether any row was applied from the given journal
+     */
+    boolean existsByJournalId(String journalId);
+
+    /**
+     * Next page of transactions in id order, for replaying wallets
+     */
+    @Query("SELECT new com.investtrack.wallet.rebuild.TransactionReplayRow(t.id, w.userId, t.assetSymbol, t.type, t.quantity, t.price, t.timestamp, t.journalId, t.journalSequence) " +
+           "FROM Transaction t JOIN t.wallet w " +
+           "WHERE t.id > :afterId AND t.id <= :upToId " +
+           "ORDER BY t.id")
+    List<TransactionReplayRow> findReplayPage(
+        @Param("afterId") Long afterId,
+        @Param("upToId") Long upToId,
+        Pageable pageable
+    );
+
+    /**
+     * Highest transaction id inserted before the given time
+     * Compares recordedAt directly so the (recordedAt, id) index serves it; older rows are backfilled on upgrade
+     */
+    @Query("SELECT MAX(t.id) FROM Transaction t WHERE t.recordedAt < :before")
+    Long findMaxIdBefore(@Param("before") LocalDateTime before);
 }
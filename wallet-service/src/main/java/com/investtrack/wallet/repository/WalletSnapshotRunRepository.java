@@ -0,0 +1,25 @@
+package com.investtrack.wallet.repository;
+
+import com.investtrack.wallet.entity.WalletSnapshotRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Wallet Snapshot Run Repository - Data access for snapshot headers
+ */
+@Repository
+public interface WalletSnapshotRunRepository extends JpaRepository<WalletSnapshotRun, Long> {
+
+    /**
+     * Most recent snapshot
+     */
+    Optional<WalletSnapshotRun> findTopByOrderByLastTransactionIdDescIdDesc();
+
+    /**
+     * All snapshots, newest first
+     */
+    List<WalletSnapshotRun> findAllByOrderByLastTransactionIdDescIdDesc();
+}
@@ -0,0 +1,63 @@
+package com.investtrack.wallet.security;
+
+import com.investtrack.wallet.config.WalletConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Internal Token Filter - Admits calls to /internal/** only with the shared internal token
+ * Same secret and header as the gateway's InternalTokenAuthorizationManager; an unset token rejects every call,
+ * so price pushes stay closed until the secret is configured
+ */
+@Component
+@Slf4j
+public class InternalTokenFilter extends OncePerRequestFilter {
+
+    /**
+     * Header carrying the shared secret, sent by Market Service with every price push
+     */
+    public static final String HEADER = "X-Internal-Token";
+
+    private static final String INTERNAL_PATH = "/internal/";
+
+    private final byte[] token;
+
+    public InternalTokenFilter(WalletConfig walletConfig) {
+        this.token = walletConfig.getPricePushToken().getBytes(StandardCharsets.UTF_8);
+        if (token.length == 0) {
+            log.warn("invest-config.wallet.price-push.token is not set - internal endpoints will reject every call");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + INTERNAL_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        if (presented == null) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing " + HEADER);
+            return;
+        }
+        // Constant-time comparison, so the secret cannot be guessed byte by byte from response times
+        if (token.length == 0 || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected {} {} with an invalid internal token", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpStatus.FORBIDDEN.value(), "Invalid " + HEADER);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,82 @@
+package com.investtrack.wallet.service;
+
+import com.investtrack.wallet.dto.AssetDTO;
+import com.investtrack.wallet.dto.TradeRequestDTO;
+import com.investtrack.wallet.dto.TradeResponseDTO;
+import com.investtrack.wallet.exception.TradeRejectedException;
+import com.investtrack.wallet.exception.TradeTimeoutException;
+import com.investtrack.wallet.executor.ShardedTradeExecutor;
+import com.investtrack.wallet.metrics.TradePipelineMetrics;
+import com.investtrack.wallet.metrics.TradePipelineMetrics.Outcome;
+import com.investtrack.wallet.metrics.TradePipelineMetrics.TradeTiming;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Trade Service - Runs a trade in two steps: the quote is resolved on the caller's thread,
+ * then only the wallet read-modify-write is serialized on the user's trade stripe
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TradeService {
+
+    private final WalletService walletService;
+    private final ShardedTradeExecutor tradeExecutor;
+    private final TradePipelineMetrics pipelineMetrics;
+
+    /**
+     * Quote the trade, then queue it on the user's stripe
+     * The future completes when the trade has run, or fails once the executor timeout is reached
+     */
+    public CompletableFuture<TradeResponseDTO> submitTrade(TradeRequestDTO tradeRequest) {
+        TradeTiming timing = pipelineMetrics.start(tradeRequest.getType());
+        AssetDTO asset = walletService.quoteTrade(tradeRequest, timing);
+        if (asset == null) {
+            return CompletableFuture.completedFuture(unavailable());
+        }
+
+        CompletableFuture<TradeResponseDTO> trade;
+        try {
+            trade = tradeExecutor.submit(tradeRequest.getUserId(),
+                    () -> walletService.executeTrade(tradeRequest, asset, timing));
+        } catch (TradeRejectedException ex) {
+            timing.finish(Outcome.ERROR);
+            throw ex;
+        }
+        return trade.whenComplete((response, ex) -> {
+            // A trade dropped from the queue never ran, so its timing is finished here
+            Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+            if (cause instanceof TradeTimeoutException timeout && !timeout.isStarted()) {
+                timing.finish(Outcome.ERROR);
+            }
+        });
+    }
+
+    /**
+     * Quote the trade, run it on the user's stripe and wait for its result, at most the executor timeout
+     */
+    public TradeResponseDTO executeTrade(TradeRequestDTO tradeRequest) {
+        try {
+            return submitTrade(tradeRequest).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static TradeResponseDTO unavailable() {
+        return new TradeResponseDTO(
+                false,
+                "Market Service is currently unavailable. Please try again later.",
+                null,
+                null
+        );
+    }
+}
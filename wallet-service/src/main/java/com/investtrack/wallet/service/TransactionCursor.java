@@ -0,0 +1,35 @@
+package com.investtrack.wallet.service;
+
+import com.investtrack.wallet.dto.TransactionDTO;
+import com.investtrack.wallet.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Transaction Cursor - Opaque keyset position (timestamp, id) in a user's transaction history
+ */
+record TransactionCursor(LocalDateTime timestamp, long id) {
+
+    static TransactionCursor after(TransactionDTO last) {
+        return new TransactionCursor(last.getTimestamp(), last.getId());
+    }
+
+    static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Invalid transaction history cursor");
+        }
+    }
+
+    String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,25 +2,38 @@ package com.investtrack
 
 .wallet.service;
 
-import com.investtrack.wallet.client.MarketServiceClient;
+import com.investtrack.wallet.cache.AssetPriceCache;
+import com.investtrack.wallet.client.MarketLookupCoalescer;
 import com.investtrack.wallet.config.WalletConfig;
 import com.investtrack.wallet.dto.*;
 import com.investtrack.wallet.entity.Transaction;
 import com.investtrack.wallet.entity.Wallet;
+import com.investtrack.wallet.event.TradeExecutedEvent;
 import com.investtrack.wallet.exception.InsufficientBalanceException;
 import com.investtrack.wallet.exception.MarketServiceUnavailableException;
+import com.investtrack.wallet.metrics.TradePipelineMetrics;
+import com.investtrack.wallet.metrics.TradePipelineMetrics.Outcome;
+import com.investtrack.wallet.metrics.TradePipelineMetrics.Stage;
+import com.investtrack.wallet.metrics.TradePipelineMetrics.TradeTiming;
+import com.investtrack.wallet.money.FixedPoint;
 import com.investtrack.wallet.repository.TransactionRepository;
-import com.investtrack.wallet.repository.WalletRepository;
+import com.investtrack.wallet.store.TradeStore;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -33,10 +46,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class WalletService {
 
-    private final WalletRepository walletRepository;
     private final TransactionRepository transactionRepository;
-    private final MarketServiceClient marketServiceClient;
+    private final TradeStore tradeStore;
+    private final MarketLookupCoalescer marketLookupCoalescer;
+    private final AssetPriceCache assetPriceCache;
     private final WalletConfig walletConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TradePipelineMetrics pipelineMetrics;
 
     /**
      * Get user's complete portfolio
@@ -44,7 +60,7 @@ public class WalletService {
     @Transactional(readOnly = true)
     public List<WalletDTO> getUserPortfolio(String userId) {
         log.info("Fetching portfolio for user: {}", userId);
-        List<Wallet> wallets = walletRepository.findByUserId(userId);
+        List<Wallet> wallets = tradeStore.findWallets(userId);
         
         return wallets.stream()
                 .map(this::convertToWalletDTO)
@@ -52,66 +68,153 @@ public class WalletService {
     }
 
     /**
-     * Execute a trade (BUY or SELL)
-     * Uses Circuit Breaker to protect against Market Service failures
+     * Resolve the quote a trade executes at: local cache first, Market Service on miss/stale
+     * Runs on the caller's thread before the trade enters its stripe, so stripes never wait on the network.
+     * Uses Circuit Breaker to protect against Market Service failures; null when Market Service is unavailable.
      */
-    @CircuitBreaker(name = "marketService", fallbackMethod = "tradeFallback")
-    public TradeResponseDTO executeTrade(TradeRequestDTO tradeRequest) {
-        log.info("Executing {} trade for user {} - Asset: {}, Quantity: {}", 
-                tradeRequest.getType(), tradeRequest.getUserId(), 
-                tradeRequest.getAssetSymbol(), tradeRequest.getQuantity());
+    @CircuitBreaker(name = "marketService", fallbackMethod = "quoteFallback")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AssetDTO quoteTrade(TradeRequestDTO tradeRequest, TradeTiming timing) {
+        AssetDTO asset = timing.time(Stage.MARKET_LOOKUP, () -> assetPriceCache.get(
+                tradeRequest.getAssetSymbol().toUpperCase(), marketLookupCoalescer::getAssetBySymbol));
 
-        // Validate asset exists and get current price from Market Service
-        AssetDTO asset = marketServiceClient.getAssetBySymbol(tradeRequest.getAssetSymbol().toUpperCase());
-        
         if (asset == null) {
             throw new MarketServiceUnavailableException("Market Service is currently unavailable. Please try again later.");
         }
 
         log.info("Asset {} validated. Current price: {}", asset.getSymbol(), asset.getCurrentPrice());
+        return asset;
+    }
 
-        // Execute trade based on type
+    /**
+     * Execute a trade (BUY or SELL) at the quote resolved by quoteTrade
+     * Runs on the user's trade stripe and finishes the trade's timing
+     */
+    public TradeResponseDTO executeTrade(TradeRequestDTO tradeRequest, AssetDTO asset, TradeTiming timing) {
+        log.info("Executing {} trade for user {} - Asset: {}, Quantity: {}", 
+                tradeRequest.getType(), tradeRequest.getUserId(), 
+                tradeRequest.getAssetSymbol(), tradeRequest.getQuantity());
+
+        try {
+            TradeResponseDTO response = execute(tradeRequest, asset, timing);
+            finishAfterCommit(timing);
+            return response;
+        } catch (InsufficientBalanceException ex) {
+            timing.finish(Outcome.INSUFFICIENT_BALANCE);
+            throw ex;
+        } catch (RuntimeException ex) {
+            timing.finish(Outcome.ERROR);
+            throw ex;
+        }
+    }
+
+    /**
+     * Execute a trade at a known price, e.g. a resting order filled by the price change that triggered it
+     * Same BUY/SELL rules as executeTrade, without a Market Service lookup
+     */
+    public TradeResponseDTO executeAtPrice(TradeRequestDTO tradeRequest, BigDecimal price) {
+        log.info("Executing {} trade for user {} at {} - Asset: {}, Quantity: {}",
+                tradeRequest.getType(), tradeRequest.getUserId(), price,
+                tradeRequest.getAssetSymbol(), tradeRequest.getQuantity());
+
+        AssetDTO asset = new AssetDTO();
+        asset.setSymbol(tradeRequest.getAssetSymbol());
+        asset.setCurrentPrice(price);
+
+        TradeTiming timing = pipelineMetrics.start(tradeRequest.getType());
+        try {
+            TradeResponseDTO response = execute(tradeRequest, asset, timing);
+            finishAfterCommit(timing);
+            return response;
+        } catch (InsufficientBalanceException ex) {
+            timing.finish(Outcome.INSUFFICIENT_BALANCE);
+            throw ex;
+        } catch (RuntimeException ex) {
+            timing.finish(Outcome.ERROR);
+            throw ex;
+        }
+    }
+
+    /**
+     * Finish the trade's timing once its transaction completes, timing the commit as its own stage
+     * The outcome is success only if the transaction committed
+     */
+    private void finishAfterCommit(TradeTiming timing) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            timing.finish(Outcome.SUCCESS);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStarted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStarted = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commitStarted > 0) {
+                    timing.add(Stage.COMMIT, System.nanoTime() - commitStarted);
+                }
+                timing.finish(status == STATUS_COMMITTED ? Outcome.SUCCESS : Outcome.ERROR);
+            }
+        });
+    }
+
+    /**
+     * Execute trade based on type
+     */
+    private TradeResponseDTO execute(TradeRequestDTO tradeRequest, AssetDTO asset, TradeTiming timing) {
         if (tradeRequest.getType() == Transaction.TransactionType.BUY) {
-            return executeBuy(tradeRequest, asset);
+            return executeBuy(tradeRequest, asset, timing);
         } else {
-            return executeSell(tradeRequest, asset);
+            return executeSell(tradeRequest, asset, timing);
         }
     }
 
     /**
      * Execute BUY transaction
      */
-    private TradeResponseDTO executeBuy(TradeRequestDTO tradeRequest, AssetDTO asset) {
+    private TradeResponseDTO executeBuy(TradeRequestDTO tradeRequest, AssetDTO asset, TradeTiming timing) {
         String userId = tradeRequest.getUserId();
         String symbol = asset.getSymbol();
         BigDecimal quantity = tradeRequest.getQuantity();
         BigDecimal price = asset.getCurrentPrice();
 
         // Find or create wallet
-        Wallet wallet = walletRepository.findByUserIdAndAssetSymbol(userId, symbol)
-                .orElse(new Wallet(null, userId, symbol, BigDecimal.ZERO, BigDecimal.ZERO, List.of()));
-
-        // Calculate new average buy price
-        BigDecimal totalValue = wallet.getQuantity().multiply(wallet.getAverageBuyPrice());
-        BigDecimal newValue = quantity.multiply(price);
-        BigDecimal newQuantity = wallet.getQuantity().add(quantity);
-        BigDecimal newAveragePrice = totalValue.add(newValue).divide(newQuantity, 2, RoundingMode.HALF_UP);
+        Wallet wallet = timing.time(Stage.WALLET_FIND, () -> tradeStore.findWallet(userId, symbol))
+                .orElse(new Wallet(null, userId, symbol, BigDecimal.ZERO, BigDecimal.ZERO, null, List.of()));
+
+        // Calculate new position on scaled longs (same HALF_UP result as BigDecimal), converting once each way
+        BigDecimal previousAveragePrice = wallet.getAverageBuyPrice();
+        long heldUnits = FixedPoint.toUnscaled(wallet.getQuantity(), FixedPoint.QUANTITY_SCALE);
+        long boughtUnits = FixedPoint.toUnscaled(quantity, FixedPoint.QUANTITY_SCALE);
+        long newUnits = Math.addExact(heldUnits, boughtUnits);
+        long newAverageCents = FixedPoint.averageBuyPrice(heldUnits,
+                FixedPoint.toUnscaled(previousAveragePrice, FixedPoint.PRICE_SCALE),
+                boughtUnits,
+                FixedPoint.toUnscaled(price, FixedPoint.PRICE_SCALE));
+        BigDecimal newQuantity = FixedPoint.toDecimal(newUnits, FixedPoint.QUANTITY_SCALE);
+        BigDecimal newAveragePrice = FixedPoint.toDecimal(newAverageCents, FixedPoint.PRICE_SCALE);
 
         wallet.setQuantity(newQuantity);
         wallet.setAverageBuyPrice(newAveragePrice);
 
-        Wallet savedWallet = walletRepository.save(wallet);
+        Wallet savedWallet = timing.time(Stage.WALLET_SAVE, () -> tradeStore.saveWallet(wallet));
 
         // Record transaction
         Transaction transaction = new Transaction();
         transaction.setWallet(savedWallet);
+        transaction.setUserId(savedWallet.getUserId());
         transaction.setType(Transaction.TransactionType.BUY);
         transaction.setAssetSymbol(symbol);
         transaction.setQuantity(quantity);
         transaction.setPrice(price);
         transaction.setTimestamp(LocalDateTime.now());
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        Transaction savedTransaction = timing.time(Stage.TRANSACTION_SAVE, () -> tradeStore.saveTransaction(transaction));
+        publishTradeExecuted(savedTransaction, previousAveragePrice, savedWallet);
 
         log.info("BUY transaction completed successfully. New quantity: {}, New avg price: {}", 
                 newQuantity, newAveragePrice);
@@ -127,14 +230,14 @@ public class WalletService {
     /**
      * Execute SELL transaction
      */
-    private TradeResponseDTO executeSell(TradeRequestDTO tradeRequest, AssetDTO asset) {
+    private TradeResponseDTO executeSell(TradeRequestDTO tradeRequest, AssetDTO asset, TradeTiming timing) {
         String userId = tradeRequest.getUserId();
         String symbol = asset.getSymbol();
         BigDecimal quantity = tradeRequest.getQuantity();
         BigDecimal price = asset.getCurrentPrice();
 
         // Find wallet
-        Wallet wallet = walletRepository.findByUserIdAndAssetSymbol(userId, symbol)
+        Wallet wallet = timing.time(Stage.WALLET_FIND, () -> tradeStore.findWallet(userId, symbol))
                 .orElseThrow(() -> new InsufficientBalanceException("You don't own any " + symbol));
 
         // Check sufficient balance
@@ -149,18 +252,20 @@ public class WalletService {
         wallet.setQuantity(newQuantity);
 
         // If quantity becomes zero, we can delete the wallet or keep it
-        Wallet savedWallet = walletRepository.save(wallet);
+        Wallet savedWallet = timing.time(Stage.WALLET_SAVE, () -> tradeStore.saveWallet(wallet));
 
         // Record transaction
         Transaction transaction = new Transaction();
         transaction.setWallet(savedWallet);
+        transaction.setUserId(savedWallet.getUserId());
         transaction.setType(Transaction.TransactionType.SELL);
         transaction.setAssetSymbol(symbol);
         transaction.setQuantity(quantity);
         transaction.setPrice(price);
         transaction.setTimestamp(LocalDateTime.now());
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        Transaction savedTransaction = timing.time(Stage.TRANSACTION_SAVE, () -> tradeStore.saveTransaction(transaction));
+        publishTradeExecuted(savedTransaction, savedWallet.getAverageBuyPrice(), savedWallet);
 
         log.info("SELL transaction completed successfully. Remaining quantity: {}", newQuantity);
 
@@ -172,19 +277,36 @@ public class WalletService {
         );
     }
 
+    /**
+     * Publish the trade and its resulting position; listeners run after commit
+     */
+    private void publishTradeExecuted(Transaction transaction, BigDecimal previousAveragePrice, Wallet wallet) {
+        eventPublisher.publishEvent(new TradeExecutedEvent(
+                wallet.getUserId(),
+                transaction.getAssetSymbol(),
+                transaction.getType(),
+                transaction.getQuantity(),
+                transaction.getPrice(),
+                previousAveragePrice,
+                wallet.getQuantity(),
+                wallet.getAverageBuyPrice(),
+                transaction.getTimestamp()
+        ));
+    }
+
     /**
      * Fallback method for circuit breaker
-     * Called when Market Service is unavailable
+     * Called when Market Service is unavailable; the trade ends here without entering its stripe
      */
-    public TradeResponseDTO tradeFallback(TradeRequestDTO tradeRequest, Exception ex) {
+    public AssetDTO quoteFallback(TradeRequestDTO tradeRequest, TradeTiming timing, Exception ex) {
         log.error("Circuit breaker activated. Market Service is unavailable: {}", ex.getMessage());
-        
-        return new TradeResponseDTO(
-                false,
-                "Market Service is currently unavailable. Please try again later.",
-                null,
-                null
-        );
+        if (ex instanceof CallNotPermittedException) {
+            // Open circuit: the lookup never ran, so the trade is counted rather than timed
+            pipelineMetrics.circuitOpen(tradeRequest.getType());
+        } else {
+            timing.finish(Outcome.FALLBACK);
+        }
+        return null;
     }
 
     /**
@@ -196,18 +318,72 @@ public class WalletService {
         log.info("Fetching transaction history for user: {} (last {} days)", 
                 userId, walletConfig.getHistoryDays());
 
-        // Calculate cutoff date based on config
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(walletConfig.getHistoryDays());
-
-        // Fetch filtered transactions
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTimestampAfter(userId, cutoffDate);
+        // Fetch filtered transactions, projected straight into DTOs
+        List<TransactionDTO> transactions = transactionRepository.findHistory(userId, historyCutoff(), Pageable.unpaged());
 
         log.info("Found {} transactions for user {} in the last {} days", 
                 transactions.size(), userId, walletConfig.getHistoryDays());
 
-        return transactions.stream()
-                .map(this::convertToTransactionDTO)
-                .collect(Collectors.toList());
+        return transactions;
+    }
+
+    /**
+     * Get one keyset page of user's transaction history, newest first
+     * The cursor is the nextCursor of the previous page (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getUserTransactionPage(String userId, int limit, String cursor) {
+        int pageSize = Math.max(1, Math.min(limit, walletConfig.getHistoryMaxPageSize()));
+        log.info("Fetching transaction page for user: {} (size {}, cursor {})", userId, pageSize, cursor);
+
+        TransactionCursor position = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        List<TransactionDTO> rows = fetchHistoryPage(userId, historyCutoff(), position, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? TransactionCursor.after(items.get(items.size() - 1)).encode() : null;
+
+        return new TransactionPageDTO(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Walk user's whole transaction history page by page, newest first
+     * Runs outside a transaction so each page is a short read and no connection is held
+     * while the consumer writes to a slow client
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamUserTransactionHistory(String userId, Consumer<List<TransactionDTO>> pageConsumer) {
+        log.info("Streaming transaction history for user: {}", userId);
+        LocalDateTime cutoffDate = historyCutoff();
+        int pageSize = walletConfig.getHistoryMaxPageSize();
+        TransactionCursor position = null;
+
+        while (true) {
+            List<TransactionDTO> page = fetchHistoryPage(userId, cutoffDate, position, pageSize);
+            if (page.isEmpty()) {
+                return;
+            }
+            pageConsumer.accept(page);
+            if (page.size() < pageSize) {
+                return;
+            }
+            position = TransactionCursor.after(page.get(page.size() - 1));
+        }
+    }
+
+    private List<TransactionDTO> fetchHistoryPage(String userId, LocalDateTime cutoffDate,
+                                                  TransactionCursor position, int size) {
+        Pageable firstRows = Pageable.ofSize(size);
+        return position == null
+                ? transactionRepository.findHistory(userId, cutoffDate, firstRows)
+                : transactionRepository.findHistoryAfter(userId, cutoffDate, position.timestamp(), position.id(), firstRows);
+    }
+
+    /**
+     * Calculate cutoff date based on config
+     */
+    private LocalDateTime historyCutoff() {
+        return LocalDateTime.now().minusDays(walletConfig.getHistoryDays());
     }
 
     /**
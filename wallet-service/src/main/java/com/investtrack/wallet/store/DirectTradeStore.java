@@ -0,0 +1,45 @@
+package com.investtrack.wallet.store;
+
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.entity.Wallet;
+import com.investtrack.wallet.repository.TransactionRepository;
+import com.investtrack.wallet.repository.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Direct Trade Store - Writes every trade synchronously to the wallets/transactions tables
+ * Saves flush right away, so the SQL runs (and is timed) in the save itself rather than at commit
+ */
+@Component
+@ConditionalOnProperty(name = "invest-config.wallet.journal.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DirectTradeStore implements TradeStore {
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public Optional<Wallet> findWallet(String userId, String assetSymbol) {
+        return walletRepository.findByUserIdAndAssetSymbol(userId, assetSymbol);
+    }
+
+    @Override
+    public List<Wallet> findWallets(String userId) {
+        return walletRepository.findByUserId(userId);
+    }
+
+    @Override
+    public Wallet saveWallet(Wallet wallet) {
+        return walletRepository.saveAndFlush(wallet);
+    }
+
+    @Override
+    public Transaction saveTransaction(Transaction transaction) {
+        return transactionRepository.saveAndFlush(transaction);
+    }
+}
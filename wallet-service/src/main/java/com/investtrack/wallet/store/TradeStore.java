@@ -0,0 +1,47 @@
+package com.investtrack.wallet.store;
+
+import com.investtrack.wallet.entity.Transaction;
+import com.investtrack.wallet.entity.Wallet;
+import com.investtrack.wallet.rebuild.TransactionReplayRow;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Trade Store - Where the trade path reads positions and records trades
+ *
+ * The direct store writes through to the wallets/transactions tables. The journaled
+ * store acknowledges a trade once it is durably appended to the local trade journal
+ * and applies it to the tables later in batches.
+ */
+public interface TradeStore {
+
+    /**
+     * Current position of a user in an asset, including trades not yet applied to the tables
+     * The returned wallet may be modified freely; changes only take effect through saveWallet
+     */
+    Optional<Wallet> findWallet(String userId, String assetSymbol);
+
+    /**
+     * All current positions of a user, including trades not yet applied to the tables
+     */
+    List<Wallet> findWallets(String userId);
+
+    /**
+     * Record the new state of a wallet
+     */
+    Wallet saveWallet(Wallet wallet);
+
+    /**
+     * Record a trade against the wallet it references
+     */
+    Transaction saveTransaction(Transaction transaction);
+
+    /**
+     * Trades recorded before a restart but not yet applied to the tables when the store started, in trade order
+     * They may be applied while the caller reads the tables; dedupe on (journalId, journalSequence)
+     */
+    default List<TransactionReplayRow> recoveredTrades() {
+        return List.of();
+    }
+}
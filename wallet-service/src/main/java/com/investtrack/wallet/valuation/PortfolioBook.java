@@ -0,0 +1,156 @@
+package com.investtrack.wallet.valuation;
+
+import com.investtrack.wallet.dto.HoldingValuationDTO;
+import com.investtrack.wallet.dto.PortfolioValuationDTO;
+import com.investtrack.wallet.money.FixedPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Portfolio Book - In-memory mark-to-market state of one user's portfolio
+ *
+ * Portfolio totals are adjusted by the difference of the changed holding only,
+ * so a price tick or a trade costs O(1) regardless of the number of holdings.
+ * Quantities, prices and totals are kept as scaled longs (see FixedPoint); decimals are
+ * converted when a position or price comes in and when a snapshot goes out.
+ */
+class PortfolioBook {
+
+    private static final int WEIGHT_SCALE = 6;
+
+    /**
+     * Price and market value of a holding whose price is not known
+     */
+    private static final long UNPRICED = Long.MIN_VALUE;
+
+    private final String userId;
+    private final Map<String, Holding> holdings = new HashMap<>();
+    private long costBasis;
+    private long marketValue;
+    private int unpricedHoldings;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    PortfolioBook(String userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Replace the position for a symbol (absolute, so replaying the same state is harmless)
+     */
+    synchronized void setPosition(String symbol, BigDecimal quantity, BigDecimal averageBuyPrice, BigDecimal price) {
+        setPosition(symbol,
+                FixedPoint.toUnscaled(quantity, FixedPoint.QUANTITY_SCALE),
+                FixedPoint.toUnscaled(averageBuyPrice, FixedPoint.PRICE_SCALE),
+                price != null ? FixedPoint.toUnscaled(price, FixedPoint.PRICE_SCALE) : UNPRICED);
+    }
+
+    /**
+     * Re-mark one holding at a new price (null when the price is no longer known)
+     */
+    synchronized void reprice(String symbol, BigDecimal price) {
+        Holding holding = holdings.get(symbol);
+        if (holding != null) {
+            setPosition(symbol, holding.quantity(), holding.averageBuyPrice(),
+                    price != null ? FixedPoint.toUnscaled(price, FixedPoint.PRICE_SCALE) : UNPRICED);
+        }
+    }
+
+    synchronized boolean holds(String symbol) {
+        return holdings.containsKey(symbol);
+    }
+
+    synchronized Iterable<String> symbols() {
+        return new ArrayList<>(holdings.keySet());
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    synchronized PortfolioValuationDTO snapshot() {
+        lastAccess = System.currentTimeMillis();
+
+        BigDecimal totalMarketValue = money(marketValue);
+        BigDecimal totalCostBasis = money(costBasis);
+        List<HoldingValuationDTO> holdingViews = new ArrayList<>(holdings.size());
+        for (Holding holding : holdings.values()) {
+            BigDecimal holdingCostBasis = money(holding.costBasis());
+            BigDecimal holdingMarketValue = holding.priced() ? money(holding.marketValue()) : null;
+            BigDecimal weight = holdingMarketValue != null && marketValue > 0
+                    ? holdingMarketValue.divide(totalMarketValue, WEIGHT_SCALE, RoundingMode.HALF_UP)
+                    : null;
+            holdingViews.add(new HoldingValuationDTO(
+                    holding.symbol(),
+                    FixedPoint.toDecimal(holding.quantity(), FixedPoint.QUANTITY_SCALE),
+                    money(holding.averageBuyPrice()),
+                    holding.priced() ? money(holding.price()) : null,
+                    holdingCostBasis,
+                    holdingMarketValue,
+                    holding.priced() ? money(holding.marketValue() - holding.costBasis()) : null,
+                    weight
+            ));
+        }
+
+        return new PortfolioValuationDTO(
+                userId,
+                totalCostBasis,
+                totalMarketValue,
+                money(marketValue - costBasis),
+                unpricedHoldings,
+                holdingViews
+        );
+    }
+
+    private void setPosition(String symbol, long quantity, long averageBuyPrice, long price) {
+        Holding previous = holdings.remove(symbol);
+        if (previous != null) {
+            remove(previous);
+        }
+        if (quantity > 0) {
+            Holding holding = new Holding(symbol, quantity, averageBuyPrice, price);
+            holdings.put(symbol, holding);
+            add(holding);
+        }
+    }
+
+    private void add(Holding holding) {
+        costBasis += holding.costBasis();
+        if (holding.priced()) {
+            marketValue += holding.marketValue();
+        } else {
+            unpricedHoldings++;
+        }
+    }
+
+    private void remove(Holding holding) {
+        costBasis -= holding.costBasis();
+        if (holding.priced()) {
+            marketValue -= holding.marketValue();
+        } else {
+            unpricedHoldings--;
+        }
+    }
+
+    private static BigDecimal money(long unscaled) {
+        return FixedPoint.toDecimal(unscaled, FixedPoint.PRICE_SCALE);
+    }
+
+    private record Holding(String symbol, long quantity, long averageBuyPrice, long price,
+                           long costBasis, long marketValue) {
+
+        Holding(String symbol, long quantity, long averageBuyPrice, long price) {
+            this(symbol, quantity, averageBuyPrice, price,
+                    FixedPoint.value(quantity, averageBuyPrice),
+                    price != UNPRICED ? FixedPoint.value(quantity, price) : UNPRICED);
+        }
+
+        boolean priced() {
+            return price != UNPRICED;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.investtrack.wallet.valuation;
+
+import com.investtrack.wallet.cache.AssetPriceCache;
+import com.investtrack.wallet.client.GuardedMarketClient;
+import com.investtrack.wallet.config.WalletConfig;
+import com.investtrack.wallet.dto.AssetDTO;
+import com.investtrack.wallet.dto.PortfolioValuationDTO;
+import com.investtrack.wallet.dto.PriceChangeDTO;
+import com.investtrack.wallet.entity.Wallet;
+import com.investtrack.wallet.event.TradeExecutedEvent;
+import com.investtrack.wallet.store.TradeStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Portfolio Valuation Service - Mark-to-market portfolio views maintained in memory
+ *
+ * A user's book is loaded from the trade store on first read and is then kept up to
+ * date by trade events and by Market Service price pushes. Prices come from pushes,
+ * executed trades and a one-off catalogue load at startup; symbols still unpriced when
+ * a book is loaded are fetched in the background with a single bulk quote call and
+ * marked once they arrive. Reads never wait on Market Service.
+ *
+ * Books are built outside the map and installed with putIfAbsent, so a load never holds a
+ * map bin. A trade committed between the load's read and the install would be missed by the
+ * new book; such a book is discarded and loaded again.
+ */
+@Service
+@Slf4j
+public class PortfolioValuationService {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final TradeStore tradeStore;
+    private final GuardedMarketClient marketClient;
+    private final AssetPriceCache assetPriceCache;
+    private final WalletConfig walletConfig;
+
+    private final Map<String, BigDecimal> lastPrices = new ConcurrentHashMap<>();
+    private final Map<String, PortfolioBook> books = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> holdersBySymbol = new ConcurrentHashMap<>();
+    // Users whose book is being loaded -> trades applied meanwhile
+    private final Map<String, AtomicLong> tradesWhileLoading = new ConcurrentHashMap<>();
+
+    public PortfolioValuationService(TradeStore tradeStore,
+                                     GuardedMarketClient marketClient,
+                                     AssetPriceCache assetPriceCache,
+                                     WalletConfig walletConfig,
+                                     MeterRegistry meterRegistry) {
+        this.tradeStore = tradeStore;
+        this.marketClient = marketClient;
+        this.assetPriceCache = assetPriceCache;
+        this.walletConfig = walletConfig;
+        Gauge.builder("wallet.valuation.books", books, Map::size).register(meterRegistry);
+        Gauge.builder("wallet.valuation.prices", lastPrices, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Get the current valuation of a user's portfolio
+     */
+    public PortfolioValuationDTO getValuation(String userId) {
+        PortfolioBook book = books.get(userId);
+        if (book == null) {
+            book = installBook(userId);
+            if (books.size() > walletConfig.getValuationMaxUsers()) {
+                evictLeastRecentlyUsed(userId);
+            }
+        }
+        return book.snapshot();
+    }
+
+    /**
+     * Re-mark every loaded book holding the symbol
+     */
+    @EventListener
+    public void onPriceChange(PriceChangeDTO change) {
+        String symbol = change.getSymbol().toUpperCase();
+        BigDecimal price = change.getCurrentPrice();
+        if (price == null) {
+            lastPrices.remove(symbol);
+        } else {
+            lastPrices.put(symbol, price);
+        }
+
+        repriceHolders(symbol, price);
+    }
+
+    /**
+     * Apply the resulting position of a committed trade to the user's book, if loaded
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeExecuted(TradeExecutedEvent event) {
+        String symbol = event.getAssetSymbol();
+        lastPrices.putIfAbsent(symbol, event.getPrice());
+        AtomicLong loading = tradesWhileLoading.get(event.getUserId());
+        if (loading != null) {
+            loading.incrementAndGet();
+        }
+
+        PortfolioBook book = books.computeIfPresent(event.getUserId(), (id, current) -> {
+            current.setPosition(symbol, event.getResultingQuantity(), event.getResultingAverageBuyPrice(),
+                    lastPrices.get(symbol));
+            return current;
+        });
+        if (book != null) {
+            holdersBySymbol.computeIfAbsent(symbol, key -> ConcurrentHashMap.newKeySet()).add(event.getUserId());
+        }
+    }
+
+    /**
+     * Load the asset catalogue once so books can be marked without per-read remote calls
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpPrices() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                List<AssetDTO> assets = marketClient.getAllAssets();
+                assets.forEach(asset -> lastPrices.putIfAbsent(asset.getSymbol(), asset.getCurrentPrice()));
+                log.info("Valuation price book warmed up with {} assets", assets.size());
+            } catch (Exception ex) {
+                log.warn("Could not warm up valuation prices: {}", ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Load a book from the trade store and install it, unless another reader installed one first
+     */
+    private PortfolioBook installBook(String userId) {
+        AtomicLong trades = null;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                // Re-read each attempt: a concurrent reader that lost the install may have removed the counter
+                trades = tradesWhileLoading.computeIfAbsent(userId, key -> new AtomicLong());
+                long tradesBefore = trades.get();
+                List<Wallet> wallets = tradeStore.findWallets(userId);
+                PortfolioBook loaded = loadBook(userId, wallets);
+                PortfolioBook installed = books.putIfAbsent(userId, loaded);
+                if (installed != null) {
+                    return installed;
+                }
+                if (trades.get() == tradesBefore || attempt == MAX_LOAD_ATTEMPTS) {
+                    priceUnknownSymbols(wallets);
+                    return loaded;
+                }
+                // A trade landed between the read and the install and was not applied to this book
+                books.remove(userId, loaded);
+            }
+        } finally {
+            if (trades != null) {
+                tradesWhileLoading.remove(userId, trades);
+            }
+        }
+    }
+
+    private PortfolioBook loadBook(String userId, List<Wallet> wallets) {
+        PortfolioBook book = new PortfolioBook(userId);
+        for (Wallet wallet : wallets) {
+            String symbol = wallet.getAssetSymbol();
+            book.setPosition(symbol, wallet.getQuantity(), wallet.getAverageBuyPrice(), lastPrices.get(symbol));
+            holdersBySymbol.computeIfAbsent(symbol, key -> ConcurrentHashMap.newKeySet()).add(userId);
+        }
+        return book;
+    }
+
+    /**
+     * Fetch quotes for symbols no push or catalogue load has priced yet, off the reading thread
+     */
+    private void priceUnknownSymbols(List<Wallet> wallets) {
+        List<String> unpriced = wallets.stream()
+                .map(Wallet::getAssetSymbol)
+                .filter(symbol -> !lastPrices.containsKey(symbol))
+                .distinct()
+                .toList();
+        if (unpriced.isEmpty()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                assetPriceCache.getAll(unpriced, marketClient::getAssetsBySymbols).forEach((symbol, asset) -> {
+                    if (asset.getCurrentPrice() != null
+                            && lastPrices.putIfAbsent(symbol, asset.getCurrentPrice()) == null) {
+                        repriceHolders(symbol, asset.getCurrentPrice());
+                    }
+                });
+            } catch (Exception ex) {
+                log.warn("Could not fetch quotes for {} unpriced symbols: {}", unpriced.size(), ex.getMessage());
+            }
+        });
+    }
+
+    private void repriceHolders(String symbol, BigDecimal price) {
+        Set<String> holders = holdersBySymbol.get(symbol);
+        if (holders != null) {
+            for (String userId : holders) {
+                books.computeIfPresent(userId, (id, book) -> {
+                    book.reprice(symbol, price);
+                    return book;
+                });
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed(String keep) {
+        books.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(keep))
+                .min(Comparator.comparingLong(entry -> entry.getValue().getLastAccess()))
+                .ifPresent(eldest -> {
+                    if (books.remove(eldest.getKey(), eldest.getValue())) {
+                        for (String symbol : eldest.getValue().symbols()) {
+                            Set<String> holders = holdersBySymbol.get(symbol);
+                            if (holders != null) {
+                                holders.remove(eldest.getKey());
+                            }
+                        }
+                    }
+                });
+    }
+}
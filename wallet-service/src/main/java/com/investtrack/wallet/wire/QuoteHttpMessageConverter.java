@@ -0,0 +1,79 @@
+package com.investtrack.wallet.wire;
+
+import com.investtrack.wallet.dto.AssetDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Quote HTTP Message Converter - Reads Market Service quote responses sent in the binary wire format
+ * Registered as a bean so the Feign decoder picks it up; read-only, so it never affects our own responses.
+ */
+@Component
+public class QuoteHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public QuoteHttpMessageConverter() {
+        super(QuoteWireFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AssetDTO.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isQuoteType(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        List<AssetDTO> assets = decode(inputMessage);
+        if (type == AssetDTO.class) {
+            return assets.isEmpty() ? null : assets.get(0);
+        }
+        return assets;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("The quote wire format is read-only here");
+    }
+
+    private static List<AssetDTO> decode(HttpInputMessage inputMessage) throws IOException {
+        try {
+            return QuoteWireFormat.decode(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    private static boolean isQuoteType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return AssetDTO.class.isAssignableFrom(clazz);
+        }
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == AssetDTO.class;
+    }
+}
@@ -0,0 +1,116 @@
+package com.investtrack.wallet.wire;
+
+import com.investtrack.wallet.dto.AssetDTO;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Quote Wire Format - Decoder for Market Service's binary quote encoding
+ *
+ * Schema, version 2 (mirror of market-service's QuoteWireFormat):
+ * <pre>
+ *   message := 'I' 'Q' version:u8 count:varint asset{count}
+ *   asset   := id:varint symbol:str name:str price:decimal type:str priceVersion:varint
+ *   str     := (length + 1):varint UTF-8 bytes        -- 0 = null
+ *   decimal := (scale + 1):varint unscaled:zigzag    -- scale + 1 = 0 = null, no unscaled follows
+ *   id      := (id + 1):varint                       -- 0 = null
+ * </pre>
+ * Varints are unsigned LEB128. A single asset is sent as a message with count 1.
+ * Version 1 (no priceVersion, decoded as 0) is still accepted from older Market Service instances.
+ */
+public final class QuoteWireFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-investtrack-quote";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final byte VERSION = 2;
+
+    private QuoteWireFormat() {
+    }
+
+    /**
+     * Decode one message
+     */
+    public static List<AssetDTO> decode(byte[] message) {
+        Source source = new Source(message);
+        if (source.get() != 'I' || source.get() != 'Q') {
+            throw new IllegalArgumentException("Not a quote wire format message");
+        }
+        byte version = source.get();
+        if (version != VERSION && version != 1) {
+            throw new IllegalArgumentException("Unsupported quote wire format version " + version);
+        }
+        int count = (int) source.getVarint();
+        List<AssetDTO> assets = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            long id = source.getVarint();
+            assets.add(new AssetDTO(
+                    id == 0 ? null : id - 1,
+                    source.getString(),
+                    source.getString(),
+                    source.getDecimal(),
+                    source.getString(),
+                    version == 1 ? 0L : source.getVarint()));
+        }
+        return assets;
+    }
+
+    /**
+     * Cursor over a message with the primitive decodings of the schema
+     */
+    private static final class Source {
+
+        private final byte[] buffer;
+        private int position;
+
+        Source(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte get() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated quote wire format message");
+            }
+            return buffer[position++];
+        }
+
+        long getVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in quote wire format message");
+        }
+
+        String getString() {
+            long length = getVarint();
+            if (length == 0) {
+                return null;
+            }
+            int size = (int) (length - 1);
+            if (size > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated quote wire format message");
+            }
+            String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+
+        BigDecimal getDecimal() {
+            long scale = getVarint();
+            if (scale == 0) {
+                return null;
+            }
+            long zigzag = getVarint();
+            return BigDecimal.valueOf((zigzag >>> 1) ^ -(zigzag & 1), (int) (scale - 1));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.investtrack.wallet.dto;
+
+import com.investtrack.wallet.entity.RestingOrder;
+import com.investtrack.wallet.entity.Transaction;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Quantities must fit the quantity column (12 integer digits, 8 decimals) before they reach FixedPoint,
+ * which would otherwise round them silently
+ */
+class QuantityValidationTest {
+
+    private static ValidatorFactory factory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void createValidator() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        factory.close();
+    }
+
+    @Test
+    void quantitiesAtColumnScaleAreAccepted() {
+        assertTrue(quantityViolations(new BigDecimal("0.00000001")).isEmpty());
+        assertTrue(quantityViolations(new BigDecimal("999999999999.99999999")).isEmpty());
+        assertTrue(orderQuantityViolations(new BigDecimal("0.00000001")).isEmpty());
+    }
+
+    @Test
+    void subUnitQuantitiesAreRejected() {
+        assertEquals(1, quantityViolations(new BigDecimal("0.000000001")).size());
+        assertEquals(1, orderQuantityViolations(new BigDecimal("0.000000001")).size());
+    }
+
+    @Test
+    void offScaleQuantitiesAreRejected() {
+        assertEquals(1, quantityViolations(new BigDecimal("1.234567891")).size());
+        assertEquals(1, quantityViolations(new BigDecimal("1000000000000")).size());
+        assertEquals(1, orderQuantityViolations(new BigDecimal("1.234567891")).size());
+    }
+
+    private static Set<ConstraintViolation<TradeRequestDTO>> quantityViolations(BigDecimal quantity) {
+        TradeRequestDTO request = new TradeRequestDTO("user-1", "AAPL", quantity, Transaction.TransactionType.BUY);
+        return validator.validateProperty(request, "quantity");
+    }
+
+    private static Set<ConstraintViolation<RestingOrderRequestDTO>> orderQuantityViolations(BigDecimal quantity) {
+        RestingOrderRequestDTO request = new RestingOrderRequestDTO("user-1", "AAPL", quantity,
+                Transaction.TransactionType.BUY, RestingOrder.OrderKind.LIMIT, new BigDecimal("100.00"));
+        return validator.validateProperty(request, "quantity");
+    }
+}
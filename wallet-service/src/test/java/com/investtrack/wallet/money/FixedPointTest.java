@@ -0,0 +1,122 @@
+package com.investtrack.wallet.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * FixedPoint must return exactly what the former BigDecimal formulas returned for values at the column scales
+ */
+class FixedPointTest {
+
+    private static final int RANDOM_CHECKS = 200_000;
+
+    @Test
+    void averageBuyPriceMatchesBigDecimal() {
+        Random random = new Random(1);
+        for (int i = 0; i < RANDOM_CHECKS; i++) {
+            BigDecimal held = randomAmount(random, FixedPoint.QUANTITY_SCALE);
+            BigDecimal average = randomAmount(random, FixedPoint.PRICE_SCALE);
+            BigDecimal bought = randomAmount(random, FixedPoint.QUANTITY_SCALE).add(BigDecimal.ONE.movePointLeft(8));
+            BigDecimal price = randomAmount(random, FixedPoint.PRICE_SCALE);
+
+            BigDecimal expected = held.multiply(average).add(bought.multiply(price))
+                    .divide(held.add(bought), FixedPoint.PRICE_SCALE, RoundingMode.HALF_UP);
+            long actual = FixedPoint.averageBuyPrice(
+                    FixedPoint.toUnscaled(held, FixedPoint.QUANTITY_SCALE),
+                    FixedPoint.toUnscaled(average, FixedPoint.PRICE_SCALE),
+                    FixedPoint.toUnscaled(bought, FixedPoint.QUANTITY_SCALE),
+                    FixedPoint.toUnscaled(price, FixedPoint.PRICE_SCALE));
+
+            assertEquals(expected, FixedPoint.toDecimal(actual, FixedPoint.PRICE_SCALE),
+                    () -> String.format("averageBuyPrice(%s, %s, %s, %s)", held, average, bought, price));
+        }
+    }
+
+    @Test
+    void valueMatchesBigDecimal() {
+        Random random = new Random(2);
+        for (int i = 0; i < RANDOM_CHECKS; i++) {
+            BigDecimal quantity = randomAmount(random, FixedPoint.QUANTITY_SCALE);
+            BigDecimal price = randomAmount(random, FixedPoint.PRICE_SCALE);
+
+            BigDecimal expected = quantity.multiply(price).setScale(FixedPoint.PRICE_SCALE, RoundingMode.HALF_UP);
+            long actual = FixedPoint.value(
+                    FixedPoint.toUnscaled(quantity, FixedPoint.QUANTITY_SCALE),
+                    FixedPoint.toUnscaled(price, FixedPoint.PRICE_SCALE));
+
+            assertEquals(expected, FixedPoint.toDecimal(actual, FixedPoint.PRICE_SCALE),
+                    () -> String.format("value(%s, %s)", quantity, price));
+        }
+    }
+
+    @Test
+    void valueRoundsHalfUpAwayFromZero() {
+        // 0.5 cent either way
+        assertEquals(1L, FixedPoint.value(50_000_000L, 1L));
+        assertEquals(-1L, FixedPoint.value(-50_000_000L, 1L));
+        assertEquals(0L, FixedPoint.value(49_999_999L, 1L));
+    }
+
+    @Test
+    void toUnscaledRoundsExtraDecimalsLikeTheColumn() {
+        assertEquals(123L, FixedPoint.toUnscaled(new BigDecimal("1.225"), FixedPoint.PRICE_SCALE));
+        assertEquals(122L, FixedPoint.toUnscaled(new BigDecimal("1.2249"), FixedPoint.PRICE_SCALE));
+        assertEquals(150L, FixedPoint.toUnscaled(new BigDecimal("1.5"), FixedPoint.PRICE_SCALE));
+        assertEquals(10_000L, FixedPoint.toUnscaled(new BigDecimal("1E+2"), FixedPoint.PRICE_SCALE));
+        assertEquals(100_000_000L, FixedPoint.toUnscaled(BigDecimal.ONE, FixedPoint.QUANTITY_SCALE));
+    }
+
+    @Test
+    void toUnscaledRoundsSubUnitQuantitiesToZero() {
+        // Below the column scale nothing is left; request validation (@Digits) must reject these first
+        assertEquals(0L, FixedPoint.toUnscaled(new BigDecimal("0.000000001"), FixedPoint.QUANTITY_SCALE));
+        assertEquals(0L, FixedPoint.toUnscaled(new BigDecimal("0.000000004"), FixedPoint.QUANTITY_SCALE));
+        assertEquals(1L, FixedPoint.toUnscaled(new BigDecimal("0.000000005"), FixedPoint.QUANTITY_SCALE));
+    }
+
+    @Test
+    void toUnscaledRoundsOffScaleQuantities() {
+        assertEquals(123_456_789L, FixedPoint.toUnscaled(new BigDecimal("1.234567885"), FixedPoint.QUANTITY_SCALE));
+        assertEquals(123_456_788L, FixedPoint.toUnscaled(new BigDecimal("1.2345678849"), FixedPoint.QUANTITY_SCALE));
+    }
+
+    @Test
+    void buyingASubUnitQuantityIntoAnEmptyPositionIsRejected() {
+        long bought = FixedPoint.toUnscaled(new BigDecimal("0.000000001"), FixedPoint.QUANTITY_SCALE);
+        assertThrows(ArithmeticException.class, () -> FixedPoint.averageBuyPrice(0L, 0L, bought, 100L));
+    }
+
+    @Test
+    void toUnscaledRejectsValuesOutsideLongRange() {
+        assertThrows(ArithmeticException.class,
+                () -> FixedPoint.toUnscaled(new BigDecimal("100000000000000000000"), FixedPoint.QUANTITY_SCALE));
+    }
+
+    @Test
+    void averageBuyPriceOfEmptyPositionIsRejected() {
+        assertThrows(ArithmeticException.class, () -> FixedPoint.averageBuyPrice(0L, 0L, 0L, 100L));
+    }
+
+    @Test
+    void resultsOutsideLongRangeAreRejected() {
+        assertThrows(ArithmeticException.class, () -> FixedPoint.value(Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Mostly values at the column scale, sometimes zero, sometimes large enough that the
+     * intermediate product overflows a long (the result still fits)
+     */
+    private static BigDecimal randomAmount(Random random, int scale) {
+        return switch (random.nextInt(10)) {
+            case 0 -> BigDecimal.ZERO.setScale(scale);
+            case 1 -> BigDecimal.valueOf(random.nextLong() & 0xFF_FFFF_FFFFL, scale);
+            default -> BigDecimal.valueOf(random.nextInt(Integer.MAX_VALUE), scale);
+        };
+    }
+}
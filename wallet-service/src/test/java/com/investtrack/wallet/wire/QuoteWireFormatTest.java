@@ -0,0 +1,75 @@
+package com.investtrack.wallet.wire;
+
+import com.investtrack.wallet.dto.AssetDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The decoder must read the golden message produced by market-service's encoder (see its QuoteWireFormatTest)
+ */
+class QuoteWireFormatTest {
+
+    /**
+     * Version 2 message with three assets:
+     * BTC (all fields), SGE (null id, price and type, non-ASCII name), GOLD (null name, price 1E+3)
+     * Keep in sync with market-service's QuoteWireFormatTest.
+     */
+    private static final byte[] GOLDEN = HexFormat.of().parseHex(
+            "4951" + "02" + "03"
+                    + "02" + "04425443" + "08426974636f696e" + "03" + "c0a8a504" + "0743525950544f" + "07"
+                    + "00" + "04534745" + "19536f6369c3a974c3a92047c3a96ec3a972616c6520e282ac" + "00" + "00" + "00"
+                    + "04" + "05474f4c44" + "00" + "01" + "d00f" + "0a434f4d4d4f44495459" + "ac02");
+
+    @Test
+    void decodesGoldenMessage() {
+        List<AssetDTO> expected = List.of(
+                new AssetDTO(1L, "BTC", "Bitcoin", new BigDecimal("45000.00"), "CRYPTO", 7L),
+                new AssetDTO(null, "SGE", "Société Générale €", null, null, 0L),
+                // Negative scales are sent at scale 0
+                new AssetDTO(3L, "GOLD", null, new BigDecimal("1000"), "COMMODITY", 300L));
+
+        assertEquals(expected, QuoteWireFormat.decode(GOLDEN));
+    }
+
+    @Test
+    void decodesVersionOneWithoutPriceVersion() {
+        byte[] message = HexFormat.of().parseHex(
+                "4951" + "01" + "01"
+                        + "02" + "04425443" + "08426974636f696e" + "03" + "c0a8a504" + "0743525950544f");
+
+        assertEquals(List.of(new AssetDTO(1L, "BTC", "Bitcoin", new BigDecimal("45000.00"), "CRYPTO", 0L)),
+                QuoteWireFormat.decode(message));
+    }
+
+    @Test
+    void decodesNegativeUnscaledValue() {
+        // zigzag 29 = -15, scale + 1 = 2
+        byte[] message = HexFormat.of().parseHex("4951" + "02" + "01" + "00" + "00" + "00" + "02" + "1d" + "00" + "00");
+
+        assertEquals(new BigDecimal("-1.5"), QuoteWireFormat.decode(message).get(0).getCurrentPrice());
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        assertThrows(IllegalArgumentException.class, () -> QuoteWireFormat.decode(HexFormat.of().parseHex("49510300")));
+    }
+
+    @Test
+    void rejectsTruncatedMessage() {
+        byte[] truncated = new byte[GOLDEN.length - 3];
+        System.arraycopy(GOLDEN, 0, truncated, 0, truncated.length);
+
+        assertThrows(IllegalArgumentException.class, () -> QuoteWireFormat.decode(truncated));
+    }
+
+    @Test
+    void rejectsOtherPayloads() {
+        assertThrows(IllegalArgumentException.class, () -> QuoteWireFormat.decode("[]".getBytes()));
+    }
+}